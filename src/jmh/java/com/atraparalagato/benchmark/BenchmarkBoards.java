@@ -0,0 +1,114 @@
+package com.atraparalagato.benchmark;
+
+import com.atraparalagato.base.model.GameBoard;
+import com.atraparalagato.impl.model.BitsetHexGameBoard;
+import com.atraparalagato.impl.model.HexGameBoard;
+import com.atraparalagato.impl.model.HexPosition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+/**
+ * Generador reproducible de tableros para los benchmarks.
+ *
+ * Con la misma semilla, tamaño y densidad se obtienen siempre las mismas
+ * celdas bloqueadas, así que los resultados antes y después de un cambio son
+ * comparables. El gato queda en el centro (0,0), que nunca se bloquea; el
+ * borde tampoco, porque el jugador no puede bloquearlo.
+ */
+public final class BenchmarkBoards {
+
+    public static final long DEFAULT_SEED = 20240601L;
+
+    private BenchmarkBoards() {
+    }
+
+    /**
+     * Tipo de tablero sobre el que correr la estrategia.
+     */
+    public enum BoardType {
+        /** Tablero por defecto del juego (bitset + campo de distancias). */
+        BITSET(BitsetHexGameBoard::new),
+        /** Tablero original basado en HashSet, como referencia. */
+        PLAIN(HexGameBoard::new);
+
+        private final IntFunction<HexGameBoard> factory;
+
+        BoardType(IntFunction<HexGameBoard> factory) {
+            this.factory = factory;
+        }
+
+        public HexGameBoard create(int size) {
+            return factory.apply(size);
+        }
+    }
+
+    /**
+     * Genera un tablero con aproximadamente densityPercent % de celdas
+     * interiores bloqueadas.
+     */
+    public static HexGameBoard generate(BoardType type, int size, int densityPercent, long seed) {
+        HexGameBoard board = type.create(size);
+        block(board, densityPercent, new Random(seed));
+        return board;
+    }
+
+    /**
+     * Genera count tableros distintos pero deterministas a partir de la semilla base.
+     */
+    public static HexGameBoard[] generate(BoardType type, int size, int densityPercent, long seed, int count) {
+        HexGameBoard[] boards = new HexGameBoard[count];
+        for (int i = 0; i < count; i++) {
+            boards[i] = generate(type, size, densityPercent, seed + 31L * i);
+        }
+        return boards;
+    }
+
+    /**
+     * Tablero nuevo del tipo dado con las mismas celdas bloqueadas que source.
+     */
+    public static HexGameBoard copy(BoardType type, GameBoard<HexPosition> source) {
+        HexGameBoard board = type.create(source.getSize());
+        for (HexPosition position : source.getBlockedPositions()) {
+            board.makeMove(position);
+        }
+        return board;
+    }
+
+    /**
+     * Celdas interiores libres que el jugador podría bloquear (sin el centro),
+     * en orden fijo.
+     */
+    public static List<HexPosition> freeInteriorCells(GameBoard<HexPosition> board) {
+        int size = board.getSize();
+        List<HexPosition> cells = new ArrayList<>();
+        for (int q = -size + 1; q < size; q++) {
+            for (int r = -size + 1; r < size; r++) {
+                HexPosition position = HexPosition.of(q, r);
+                if (position.isWithinBounds(size - 1) && !(q == 0 && r == 0) && !board.isBlocked(position)) {
+                    cells.add(position);
+                }
+            }
+        }
+        return cells;
+    }
+
+    private static void block(GameBoard<HexPosition> board, int densityPercent, Random random) {
+        int size = board.getSize();
+        double density = densityPercent / 100.0;
+        // Recorrido en orden fijo para que la semilla determine el resultado
+        for (int q = -size + 1; q < size; q++) {
+            for (int r = -size + 1; r < size; r++) {
+                HexPosition position = HexPosition.of(q, r);
+                if (!position.isWithinBounds(size - 1) || (q == 0 && r == 0)) {
+                    continue;
+                }
+                if (random.nextDouble() < density) {
+                    board.makeMove(position);
+                }
+            }
+        }
+    }
+}
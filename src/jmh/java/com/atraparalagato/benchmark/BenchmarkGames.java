@@ -0,0 +1,50 @@
+package com.atraparalagato.benchmark;
+
+import com.atraparalagato.impl.model.HexGameState;
+import com.atraparalagato.impl.model.HexPosition;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generador reproducible de partidas para los benchmarks de persistencia.
+ *
+ * Cada partida tiene un tamaño de tablero entre 5 y 10 y una cantidad de
+ * movimientos del jugador y del gato que depende solo de la semilla, así que
+ * el contenido almacenado (y el tamaño serializado) es el mismo en cada corrida.
+ */
+public final class BenchmarkGames {
+
+    private BenchmarkGames() {
+    }
+
+    public static String idFor(int number) {
+        return "game-" + number;
+    }
+
+    /**
+     * Genera la partida número number a partir de la semilla base.
+     */
+    public static HexGameState generate(int number, long seed) {
+        Random random = new Random(seed + 7919L * number);
+        int boardSize = 5 + random.nextInt(6);
+        HexGameState game = new HexGameState(idFor(number), boardSize);
+
+        int moves = random.nextInt(2 * boardSize);
+        for (int i = 0; i < moves && !game.isGameFinished(); i++) {
+            int q = random.nextInt(2 * boardSize - 1) - boardSize + 1;
+            int r = random.nextInt(2 * boardSize - 1) - boardSize + 1;
+            if (!game.executeMove(HexPosition.of(q, r))) {
+                continue;
+            }
+            // El gato da un paso a un vecino libre cualquiera
+            List<HexPosition> free = game.getGameBoard().getAdjacentPositions(game.getCatPosition()).stream()
+                    .filter(position -> !game.getGameBoard().isBlocked(position))
+                    .toList();
+            if (!free.isEmpty() && !game.isGameFinished()) {
+                game.setCatPosition(free.get(random.nextInt(free.size())));
+            }
+        }
+        return game;
+    }
+}
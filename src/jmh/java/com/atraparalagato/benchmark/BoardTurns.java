@@ -0,0 +1,119 @@
+package com.atraparalagato.benchmark;
+
+import com.atraparalagato.impl.model.BitsetHexGameBoard;
+import com.atraparalagato.impl.model.HexGameBoard;
+import com.atraparalagato.impl.model.HexPosition;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Turnos de juego reproducibles para los benchmarks de búsqueda.
+ *
+ * Sin mutaciones el tablero no cambia entre llamadas y un BitsetHexGameBoard
+ * respondería con su campo de distancias ya calculado, así que cada turno
+ * medido bloquea una celda (la jugada) antes de la búsqueda. Un turno no se
+ * puede repetir, por eso {@link #reset()} (setup por iteración, no medido)
+ * prepara exactamente los turnos de una iteración: partidas nuevas copiadas
+ * de los tableros base, con el campo de distancias listo, y para cada una
+ * hasta TURNS_PER_GAME jugadas sobre celdas libres en un orden aleatorio fijo.
+ * {@link #play()} (dentro de la medida) aplica la jugada del siguiente turno.
+ *
+ * Los benchmarks que lo usan corren en modo SingleShotTime: cada iteración es
+ * una sola llamada que juega los turnsPerIteration turnos
+ * (@OperationsPerInvocation), porque las búsquedas duran menos de lo que
+ * cuesta un setup por invocación.
+ */
+final class BoardTurns {
+
+    // Jugadas por partida; después se pasa a una partida nueva
+    static final int TURNS_PER_GAME = 16;
+
+    private static final HexPosition CENTER = HexPosition.of(0, 0);
+
+    private final BenchmarkBoards.BoardType type;
+    private final HexGameBoard[] boards;
+    private final List<List<HexPosition>> playerMoves;
+    private final int turnsPerIteration;
+
+    private final List<HexGameBoard> games = new ArrayList<>();
+    private final int[] turnGame;
+    private final HexPosition[] turnMove;
+    private int next;
+    private int lastGame;
+
+    BoardTurns(BenchmarkBoards.BoardType type, int size, int density, long seed, int count, int turnsPerIteration) {
+        this.type = type;
+        this.boards = BenchmarkBoards.generate(type, size, density, seed, count);
+        this.playerMoves = new ArrayList<>(boards.length);
+        for (int i = 0; i < boards.length; i++) {
+            List<HexPosition> cells = BenchmarkBoards.freeInteriorCells(boards[i]);
+            Collections.shuffle(cells, new Random(seed + i));
+            playerMoves.add(cells);
+        }
+        this.turnsPerIteration = turnsPerIteration;
+        this.turnGame = new int[turnsPerIteration];
+        this.turnMove = new HexPosition[turnsPerIteration];
+    }
+
+    /**
+     * Prepara las partidas y las jugadas de una iteración. Siempre las mismas,
+     * para que las iteraciones sean comparables.
+     */
+    void reset() {
+        games.clear();
+        next = 0;
+        int turn = 0;
+        for (int game = 0; turn < turnsPerIteration; game++) {
+            int base = game % boards.length;
+            HexGameBoard board = BenchmarkBoards.copy(type, boards[base]);
+            if (board instanceof BitsetHexGameBoard bitsetBoard) {
+                bitsetBoard.getEscapeDistance(CENTER);
+            }
+            games.add(board);
+
+            // Cada vuelta sobre el mismo tablero base empieza más adelante en sus celdas
+            List<HexPosition> cells = playerMoves.get(base);
+            int start = (game / boards.length) * TURNS_PER_GAME;
+            int moves = Math.min(TURNS_PER_GAME, cells.size());
+            // Con densidad muy alta puede no quedar celda libre: un turno sin jugada
+            for (int k = 0; k < Math.max(1, moves) && turn < turnsPerIteration; k++, turn++) {
+                turnGame[turn] = game;
+                turnMove[turn] = moves == 0 ? null : cells.get((start + k) % cells.size());
+            }
+        }
+    }
+
+    int gameCount() {
+        return games.size();
+    }
+
+    HexGameBoard board(int game) {
+        return games.get(game);
+    }
+
+    /**
+     * Aplica la jugada del siguiente turno y devuelve el tablero resultante.
+     * Pasados turnsPerIteration turnos vuelve al primero, cuyas celdas ya
+     * están bloqueadas; los benchmarks llaman a reset() antes de cada iteración.
+     */
+    HexGameBoard play() {
+        int turn = next;
+        next = next + 1 == turnsPerIteration ? 0 : next + 1;
+        lastGame = turnGame[turn];
+        HexGameBoard board = games.get(lastGame);
+        if (turnMove[turn] != null) {
+            board.makeMove(turnMove[turn]);
+        }
+        return board;
+    }
+
+    /**
+     * Partida del último turno jugado.
+     */
+    int lastGame() {
+        return lastGame;
+    }
+}
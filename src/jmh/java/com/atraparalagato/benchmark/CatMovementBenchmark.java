@@ -0,0 +1,146 @@
+package com.atraparalagato.benchmark;
+
+import com.atraparalagato.base.model.GameBoard;
+import com.atraparalagato.base.strategy.CatMovementStrategy;
+import com.atraparalagato.example.strategy.SimpleCatMovement;
+import com.atraparalagato.impl.model.HexPosition;
+import com.atraparalagato.impl.strategy.AStarCatMovement;
+import com.atraparalagato.impl.strategy.BFSCatMovement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Benchmarks de las estrategias de movimiento del gato.
+ *
+ * Cada combinación de parámetros genera BOARDS_PER_TRIAL tableros con
+ * {@link BenchmarkBoards} (semilla fija) y las partidas de cada iteración
+ * parten de ellos, para no medir un único tablero afortunado. El gato está
+ * siempre en (0,0) y el objetivo es la celda (size, 0) del borde, como en
+ * HexGameService.
+ *
+ * Cada operación es un turno: el jugador bloquea una celda y luego se
+ * consulta la estrategia. Sin ese bloqueo el tablero no cambia y, con
+ * BITSET, BFS leería siempre el campo de distancias ya calculado; la
+ * actualización incremental tras el bloqueo sí entra en la medida. Las
+ * partidas, sus jugadas y sus estrategias se preparan por iteración (ver
+ * {@link BoardTurns}). Cada iteración es una sola llamada (SingleShotTime)
+ * que juega TURNS_PER_CALL turnos, así que el resultado es el tiempo medio
+ * por turno y el costo del cronómetro se reparte entre todos.
+ *
+ * Ejecución:
+ *   mvn -Pbenchmark test-compile exec:exec
+ *   mvn -Pbenchmark test-compile exec:exec -Djmh.args="CatMovementBenchmark.findBestMove -p strategy=BFS -p size=10"
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 20)
+@Measurement(iterations = 20)
+@Fork(1)
+public class CatMovementBenchmark {
+
+    static final int TURNS_PER_CALL = 4096;
+
+    private static final int BOARDS_PER_TRIAL = 64;
+
+    /**
+     * Estrategias medidas; se construyen igual que en el juego.
+     */
+    public enum Strategy {
+        BFS(BFSCatMovement::new),
+        ASTAR(AStarCatMovement::new),
+        SIMPLE(SimpleCatMovement::new);
+
+        private final Function<GameBoard<HexPosition>, CatMovementStrategy<HexPosition>> factory;
+
+        Strategy(Function<GameBoard<HexPosition>, CatMovementStrategy<HexPosition>> factory) {
+            this.factory = factory;
+        }
+
+        CatMovementStrategy<HexPosition> create(GameBoard<HexPosition> board) {
+            return factory.apply(board);
+        }
+    }
+
+    @Param({"BFS", "ASTAR", "SIMPLE"})
+    public Strategy strategy;
+
+    @Param({"3", "4", "5", "6", "7", "8", "9", "10"})
+    public int size;
+
+    @Param({"0", "15", "30", "45", "60"})
+    public int density;
+
+    @Param({"BITSET", "PLAIN"})
+    public BenchmarkBoards.BoardType boardType;
+
+    @Param({"" + BenchmarkBoards.DEFAULT_SEED})
+    public long seed;
+
+    private BoardTurns turns;
+    private final HexPosition cat = HexPosition.of(0, 0);
+    private HexPosition target;
+
+    // Estrategia de cada partida de la iteración, fijada a su tablero
+    private CatMovementStrategy<HexPosition>[] strategies;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        turns = new BoardTurns(boardType, size, density, seed, BOARDS_PER_TRIAL, TURNS_PER_CALL);
+        target = HexPosition.of(size, 0);
+    }
+
+    @Setup(Level.Iteration)
+    @SuppressWarnings("unchecked")
+    public void prepareIteration() {
+        turns.reset();
+        strategies = new CatMovementStrategy[turns.gameCount()];
+        for (int game = 0; game < strategies.length; game++) {
+            strategies[game] = strategy.create(turns.board(game));
+        }
+    }
+
+    private CatMovementStrategy<HexPosition> playTurn() {
+        turns.play();
+        return strategies[turns.lastGame()];
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TURNS_PER_CALL)
+    public void findBestMove(Blackhole blackhole) {
+        for (int i = 0; i < TURNS_PER_CALL; i++) {
+            blackhole.consume(playTurn().findBestMove(cat, target));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TURNS_PER_CALL)
+    public void hasPathToGoal(Blackhole blackhole) {
+        for (int i = 0; i < TURNS_PER_CALL; i++) {
+            blackhole.consume(playTurn().hasPathToGoal(cat));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TURNS_PER_CALL)
+    public void getFullPath(Blackhole blackhole) {
+        for (int i = 0; i < TURNS_PER_CALL; i++) {
+            blackhole.consume(playTurn().getFullPath(cat, target));
+        }
+    }
+}
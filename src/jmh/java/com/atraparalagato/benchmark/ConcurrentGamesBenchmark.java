@@ -0,0 +1,158 @@
+package com.atraparalagato.benchmark;
+
+import com.atraparalagato.impl.model.HexGameState;
+import com.atraparalagato.impl.model.HexPosition;
+import com.atraparalagato.impl.repository.H2GameRepository;
+import com.atraparalagato.impl.repository.H2PoolSettings;
+import com.atraparalagato.impl.service.HexGameService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prueba de carga de HexGameService con muchas partidas cortas simultáneas,
+ * como en el pico de tráfico del juego.
+ *
+ * Cada invocación lanza {@code clients} partidas a la vez; cada una crea el
+ * juego y hace {@code MOVES} movimientos contra H2GameRepository (sin caché,
+ * así que cada llamada bloquea en JDBC). Antes de cada llamada se duerme
+ * {@code latencyMs}, que representa el resto de la E/S bloqueante de un
+ * pedido (red del cliente, base remota).
+ *
+ * executor=platform usa un pool fijo de {@code PLATFORM_THREADS} hilos, el
+ * máximo por defecto de Tomcat; executor=virtual usa un hilo virtual por
+ * partida, como Tomcat con spring.threads.virtual.enabled=true. Los hilos
+ * virtuales necesitan Java 21, así que esa variante solo corre compilando
+ * con el perfil java21:
+ *
+ *   mvn -Pbenchmark,java21 test-compile exec:exec -Djmh.args="ConcurrentGamesBenchmark"
+ *
+ * El resultado es el tiempo de cada tanda completa; partidas por segundo =
+ * clients / tiempo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx2g"})
+public class ConcurrentGamesBenchmark {
+
+    private static final int PLATFORM_THREADS = 200;
+    private static final int BOARD_SIZE = 7;
+    private static final int MOVES = 4;
+
+    @Param({"platform", "virtual"})
+    public String executor;
+
+    @Param({"200", "2000", "10000"})
+    public int clients;
+
+    @Param({"0", "10"})
+    public int latencyMs;
+
+    private H2GameRepository repository;
+    private HexGameService service;
+    private ExecutorService workers;
+    private List<HexPosition> cells;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Cada fork con su base: las tandas anteriores no hacen crecer la tabla de otra combinación
+        repository = new H2GameRepository(H2PoolSettings.from(Map.of(
+                "game.h2.url", "jdbc:h2:mem:load-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1")::get));
+        service = new HexGameService(repository);
+        workers = newExecutor(executor);
+
+        cells = new ArrayList<>();
+        for (int q = -3; q <= 3; q++) {
+            for (int r = -3; r <= 3; r++) {
+                if (Math.abs(q + r) <= 3 && (q != 0 || r != 0)) {
+                    cells.add(HexPosition.of(q, r));
+                }
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        workers.shutdownNow();
+        service.close();
+    }
+
+    @Benchmark
+    public int shortGames() throws Exception {
+        List<Future<Integer>> games = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            int client = i;
+            games.add(workers.submit(() -> playShortGame(client)));
+        }
+        int moves = 0;
+        for (Future<Integer> game : games) {
+            moves += game.get();
+        }
+        return moves;
+    }
+
+    private int playShortGame(int client) throws InterruptedException {
+        pause();
+        String gameId = service.createGame(BOARD_SIZE, "easy", Map.of("playerId", "player-" + client % 50)).getGameId();
+        int moves = 0;
+        for (int i = 0; i < MOVES; i++) {
+            pause();
+            HexPosition cell = cells.get((client * 7 + i * 13) % cells.size());
+            Optional<HexGameState> state = service.executePlayerMove(gameId, cell, "player-" + client % 50);
+            if (state.isEmpty() || state.get().isGameFinished()) {
+                break;
+            }
+            moves++;
+        }
+        return moves;
+    }
+
+    private void pause() throws InterruptedException {
+        if (latencyMs > 0) {
+            Thread.sleep(latencyMs);
+        }
+    }
+
+    /**
+     * Executors.newVirtualThreadPerTaskExecutor() se busca por reflexión para
+     * que el benchmark compile también con Java 17.
+     */
+    private static ExecutorService newExecutor(String kind) {
+        if ("platform".equals(kind)) {
+            return Executors.newFixedThreadPool(PLATFORM_THREADS);
+        }
+        if (!"virtual".equals(kind)) {
+            throw new IllegalArgumentException("executor desconocido: " + kind);
+        }
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("Los hilos virtuales necesitan Java 21 (perfil java21)", e);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("No se pudo crear el executor de hilos virtuales", e);
+        }
+    }
+}
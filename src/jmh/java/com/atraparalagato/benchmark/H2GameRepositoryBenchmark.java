@@ -0,0 +1,138 @@
+package com.atraparalagato.benchmark;
+
+import com.atraparalagato.base.model.GameState;
+import com.atraparalagato.impl.model.HexGameState;
+import com.atraparalagato.impl.repository.GameSortField;
+import com.atraparalagato.impl.repository.H2GameRepository;
+import com.atraparalagato.impl.repository.Page;
+import com.atraparalagato.impl.repository.PageToken;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de H2GameRepository contra la base H2 en memoria que ya usa el
+ * repositorio (jdbc:h2:mem:atraparalagato_db).
+ *
+ * Cada combinación de parámetros corre en su propio fork, así que la base
+ * empieza vacía y se llena en el setup con {@code games} partidas generadas
+ * por {@link BenchmarkGames}. Las operaciones puntuales (save, saveAll, findById,
+ * findWithPagination, findPage) se miden en tiempo promedio; los recorridos completos
+ * (findAll, countWhere) en tiempo por invocación, porque con 1M de partidas
+ * cada llamada tarda segundos.
+ *
+ * El llenado usa el propio save(), así que con 1M de partidas el setup de
+ * cada fork tarda varios minutos; conviene filtrar con -p games=... .
+ *
+ * Ejecución:
+ *   mvn -Pbenchmark test-compile exec:exec -Djmh.args="H2GameRepositoryBenchmark -p games=1000"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+public class H2GameRepositoryBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int SAVE_ALL_SIZE = 100;
+
+    @Param({"1000", "100000", "1000000"})
+    public int games;
+
+    @Param({"" + BenchmarkBoards.DEFAULT_SEED})
+    public long seed;
+
+    private H2GameRepository repository;
+    private HexGameState[] samples;
+    private Random random;
+    private int nextNewGame;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        repository = new H2GameRepository();
+        for (int i = 0; i < games; i++) {
+            repository.save(BenchmarkGames.generate(i, seed));
+        }
+        // Partidas ya guardadas que se vuelven a guardar (camino UPDATE)
+        samples = new HexGameState[Math.min(games, 1024)];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = BenchmarkGames.generate(i * (games / samples.length), seed);
+        }
+        random = new Random(seed);
+        nextNewGame = games;
+    }
+
+    @Benchmark
+    public HexGameState saveExisting() {
+        return repository.save(samples[random.nextInt(samples.length)]);
+    }
+
+    @Benchmark
+    public HexGameState saveNew() {
+        // Camino INSERT: la tabla crece durante la medición
+        return repository.save(BenchmarkGames.generate(nextNewGame++, seed));
+    }
+
+    @Benchmark
+    public List<HexGameState> saveAllBatch() {
+        // Upsert de SAVE_ALL_SIZE partidas existentes en una transacción
+        List<HexGameState> batch = new ArrayList<>(SAVE_ALL_SIZE);
+        for (int i = 0; i < SAVE_ALL_SIZE; i++) {
+            batch.add(samples[random.nextInt(samples.length)]);
+        }
+        return repository.saveAll(batch);
+    }
+
+    @Benchmark
+    public Optional<HexGameState> findById() {
+        return repository.findById(BenchmarkGames.idFor(random.nextInt(games)));
+    }
+
+    @Benchmark
+    public List<HexGameState> findWithPagination() {
+        int pages = Math.max(1, games / PAGE_SIZE);
+        return repository.findWithPagination(1 + random.nextInt(pages), PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Page<HexGameState> findPage() {
+        // Misma profundidad aleatoria que findWithPagination, pero por clave
+        String after = new PageToken(GameSortField.GAME_ID, "", BenchmarkGames.idFor(random.nextInt(games))).encode();
+        return repository.findPage(after, PAGE_SIZE, GameSortField.GAME_ID);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 5)
+    public List<HexGameState> findAll() {
+        return repository.findAll();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 5)
+    public long countWhere() {
+        return repository.countWhere(game -> game.getStatus() == GameState.GameStatus.PLAYER_WON);
+    }
+}
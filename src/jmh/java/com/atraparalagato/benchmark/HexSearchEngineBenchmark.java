@@ -0,0 +1,211 @@
+package com.atraparalagato.benchmark;
+
+import com.atraparalagato.base.model.GameBoard;
+import com.atraparalagato.impl.model.HexPosition;
+import com.atraparalagato.impl.strategy.AStarEscapeStrategy;
+import com.atraparalagato.impl.strategy.HexSearchEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HexSearchEngine frente a las búsquedas que reemplaza, en tableros de tamaño 10.
+ *
+ * - hasPath*: engineCanReachBorder contra el BFS original con HashSet
+ *   (legacyBfsHasPath) y el A* de AStarEscapeStrategy (aStarHasPath).
+ * - path*: el BFS bidireccional del motor (engineShortestPath) y su camino al
+ *   borde más cercano (engineShortestPathToBorder) contra el BFS original
+ *   (legacyBfsFullPath) y el A* (aStarFullPath) hacia la celda (size, 0).
+ *
+ * legacyBfs* es una copia del BFS que tenía BFSCatMovement antes del motor,
+ * para que la comparación no dependa del historial. Cada operación es un
+ * turno de {@link BoardTurns}: el jugador bloquea una celda antes de la
+ * búsqueda, así que con BITSET el motor paga la actualización incremental del
+ * campo de distancias en vez de leer un resultado ya calculado. Las búsquedas
+ * duran menos de un microsegundo, así que no hay setup por invocación: los
+ * turnos se preparan por iteración y cada iteración es una sola llamada que
+ * juega CatMovementBenchmark.TURNS_PER_CALL turnos, igual que en ese benchmark.
+ *
+ * Ejecución:
+ *   mvn -Pbenchmark test-compile exec:exec -Djmh.args="HexSearchEngineBenchmark"
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 20)
+@Measurement(iterations = 20)
+@Fork(1)
+public class HexSearchEngineBenchmark {
+
+    private static final int TURNS_PER_CALL = CatMovementBenchmark.TURNS_PER_CALL;
+
+    private static final int BOARDS_PER_TRIAL = 64;
+
+    @Param({"10"})
+    public int size;
+
+    @Param({"0", "15", "30", "45"})
+    public int density;
+
+    @Param({"BITSET", "PLAIN"})
+    public BenchmarkBoards.BoardType boardType;
+
+    @Param({"" + BenchmarkBoards.DEFAULT_SEED})
+    public long seed;
+
+    private final HexSearchEngine engine = HexSearchEngine.shared();
+    private final AStarEscapeStrategy aStar = AStarEscapeStrategy.SINGLE_SEARCH;
+    private final HexPosition cat = HexPosition.of(0, 0);
+    private HexPosition target;
+    private BoardTurns turns;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        turns = new BoardTurns(boardType, size, density, seed, BOARDS_PER_TRIAL, TURNS_PER_CALL);
+        target = HexPosition.of(size, 0);
+    }
+
+    @Setup(Level.Iteration)
+    public void prepareIteration() {
+        turns.reset();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TURNS_PER_CALL)
+    public void engineCanReachBorder(Blackhole blackhole) {
+        for (int i = 0; i < TURNS_PER_CALL; i++) {
+            blackhole.consume(engine.canReachBorder(turns.play(), cat));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TURNS_PER_CALL)
+    public void legacyBfsHasPath(Blackhole blackhole) {
+        for (int i = 0; i < TURNS_PER_CALL; i++) {
+            blackhole.consume(legacyHasPathToGoal(turns.play(), cat));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TURNS_PER_CALL)
+    public void aStarHasPath(Blackhole blackhole) {
+        for (int i = 0; i < TURNS_PER_CALL; i++) {
+            blackhole.consume(aStar.hasPathToGoal(turns.play(), cat));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TURNS_PER_CALL)
+    public void engineShortestPath(Blackhole blackhole) {
+        for (int i = 0; i < TURNS_PER_CALL; i++) {
+            blackhole.consume(engine.shortestPath(turns.play(), cat, target));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TURNS_PER_CALL)
+    public void engineShortestPathToBorder(Blackhole blackhole) {
+        for (int i = 0; i < TURNS_PER_CALL; i++) {
+            blackhole.consume(engine.shortestPathToBorder(turns.play(), cat));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TURNS_PER_CALL)
+    public void legacyBfsFullPath(Blackhole blackhole) {
+        for (int i = 0; i < TURNS_PER_CALL; i++) {
+            blackhole.consume(legacyFullPath(turns.play(), cat, target));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TURNS_PER_CALL)
+    public void aStarFullPath(Blackhole blackhole) {
+        for (int i = 0; i < TURNS_PER_CALL; i++) {
+            blackhole.consume(aStar.getFullPath(turns.play(), cat, target));
+        }
+    }
+
+    private static boolean legacyHasPathToGoal(GameBoard<HexPosition> board, HexPosition currentPosition) {
+        int boardSize = board.getSize();
+        Queue<HexPosition> queue = new LinkedList<>();
+        Set<HexPosition> visited = new HashSet<>();
+
+        queue.add(currentPosition);
+        visited.add(currentPosition);
+
+        while (!queue.isEmpty()) {
+            HexPosition current = queue.poll();
+
+            if (Math.abs(current.getQ()) >= boardSize
+                    || Math.abs(current.getR()) >= boardSize
+                    || Math.abs(current.getS()) >= boardSize) {
+                return true;
+            }
+
+            for (HexPosition neighbor : board.getAdjacentPositions(current)) {
+                if (!board.isBlocked(neighbor) && !visited.contains(neighbor)) {
+                    queue.add(neighbor);
+                    visited.add(neighbor);
+                }
+            }
+        }
+        return false;
+    }
+
+    private static List<HexPosition> legacyFullPath(GameBoard<HexPosition> board,
+                                                    HexPosition currentPosition,
+                                                    HexPosition targetPosition) {
+        Queue<HexPosition> queue = new LinkedList<>();
+        Map<HexPosition, HexPosition> parent = new HashMap<>();
+        Set<HexPosition> visited = new HashSet<>();
+
+        queue.add(currentPosition);
+        visited.add(currentPosition);
+        parent.put(currentPosition, null);
+
+        while (!queue.isEmpty()) {
+            HexPosition current = queue.poll();
+
+            if (current.equals(targetPosition)) {
+                List<HexPosition> path = new LinkedList<>();
+                HexPosition step = current;
+                while (step != null) {
+                    path.add(0, step);
+                    step = parent.get(step);
+                }
+                return path;
+            }
+
+            for (HexPosition neighbor : board.getAdjacentPositions(current)) {
+                if (!board.isBlocked(neighbor) && !visited.contains(neighbor)) {
+                    queue.add(neighbor);
+                    visited.add(neighbor);
+                    parent.put(neighbor, current);
+                }
+            }
+        }
+        return Collections.emptyList();
+    }
+}
@@ -3,7 +3,14 @@ package com.atraparalagato.controller;
 import com.atraparalagato.example.service.ExampleGameService;
 import com.atraparalagato.impl.service.HexGameService;
 import com.atraparalagato.impl.model.HexPosition;
+import com.atraparalagato.impl.repository.H2GameRepository;
+import com.atraparalagato.impl.repository.H2PoolSettings;
+import com.atraparalagato.impl.repository.WriteBehindGameRepository;
+import com.atraparalagato.impl.repository.WriteBehindSettings;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -17,10 +24,13 @@ import java.util.Optional;
  * Usa la propiedad 'game.use-example-implementation' para determinar qué implementación usar:
  * - true: Usa las implementaciones del paquete 'example' (básicas, para guía)
  * - false: Usa las implementaciones del paquete 'impl' (de los estudiantes)
+ *
+ * Con 'game.api.reactive=true' se usa ReactiveGameController en su lugar.
  */
 @RestController
 @RequestMapping("/api/game")
 @CrossOrigin(origins = "*")
+@ConditionalOnProperty(name = "game.api.reactive", havingValue = "false", matchIfMissing = true)
 public class GameController {
     
     private final boolean useExampleImplementation;
@@ -28,13 +38,17 @@ public class GameController {
     private ExampleGameService exampleGameService;
     private HexGameService hexGameService;
 
-    public GameController(@Value("${game.use-example-implementation:false}") boolean useExampleImplementation) {
+    public GameController(@Value("${game.use-example-implementation:false}") boolean useExampleImplementation,
+                          Environment environment) {
         this.useExampleImplementation = useExampleImplementation;
         try {
             if (useExampleImplementation) {
                 this.exampleGameService = new ExampleGameService();
             } else {
-                this.hexGameService = new HexGameService();
+                // La configuración del pool (game.h2.*) y de la caché (game.cache.*) se lee de application.properties
+                H2GameRepository store = new H2GameRepository(H2PoolSettings.from(environment::getProperty));
+                this.hexGameService = new HexGameService(new WriteBehindGameRepository(
+                        store, WriteBehindSettings.from(environment::getProperty)));
             }
         } catch (Exception e) {
             e.printStackTrace();
@@ -42,6 +56,16 @@ public class GameController {
         }
     }
     
+    /**
+     * Escribe las partidas pendientes de la caché al detener la aplicación.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (hexGameService != null) {
+            hexGameService.close();
+        }
+    }
+    
     
     /**
      * Inicia un nuevo juego.
@@ -69,7 +93,7 @@ public class GameController {
             @RequestParam int q,
             @RequestParam int r) {
         try {
-            HexPosition position = new HexPosition(q, r);
+            HexPosition position = HexPosition.of(q, r);
             
             if (useExampleImplementation) {
                 return blockPositionWithExample(gameId, position);
@@ -0,0 +1,153 @@
+package com.atraparalagato.controller;
+
+import com.atraparalagato.impl.model.HexGameState;
+import com.atraparalagato.impl.model.HexPosition;
+import com.atraparalagato.impl.repository.H2GameRepository;
+import com.atraparalagato.impl.repository.H2PoolSettings;
+import com.atraparalagato.impl.repository.ReactiveDataRepository;
+import com.atraparalagato.impl.repository.ReactiveSettings;
+import com.atraparalagato.impl.repository.WriteBehindGameRepository;
+import com.atraparalagato.impl.repository.WriteBehindSettings;
+import com.atraparalagato.impl.service.HexGameService;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Variante reactiva de GameController, con los mismos endpoints y respuestas.
+ *
+ * Se activa con 'game.api.reactive=true' (y reemplaza a GameController). Los
+ * handlers devuelven Mono: Spring MVC libera el hilo del servidor mientras la
+ * llamada al repositorio o al servicio corre en el pool acotado de
+ * ReactiveDataRepository (game.reactive.*). Así un pedido que espera no ocupa
+ * un hilo de Tomcat. Si el pool está lleno se responde 503.
+ *
+ * Solo existe para la implementación de estudiantes (paquete 'impl').
+ */
+@RestController
+@RequestMapping("/api/game")
+@CrossOrigin(origins = "*")
+@ConditionalOnProperty(name = "game.api.reactive", havingValue = "true")
+public class ReactiveGameController {
+
+    private final HexGameService hexGameService;
+    private final ReactiveDataRepository<HexGameState, String> games;
+
+    public ReactiveGameController(@Value("${game.use-example-implementation:false}") boolean useExampleImplementation,
+                                  Environment environment) {
+        if (useExampleImplementation) {
+            throw new IllegalStateException(
+                    "game.api.reactive=true requiere game.use-example-implementation=false");
+        }
+        H2GameRepository store = new H2GameRepository(H2PoolSettings.from(environment::getProperty));
+        WriteBehindGameRepository repository = new WriteBehindGameRepository(
+                store, WriteBehindSettings.from(environment::getProperty));
+        this.hexGameService = new HexGameService(repository);
+        this.games = new ReactiveDataRepository<>(repository, ReactiveSettings.from(environment::getProperty));
+    }
+
+    /**
+     * Detiene el pool y escribe las partidas pendientes de la caché.
+     */
+    @PreDestroy
+    public void shutdown() {
+        games.close();
+        hexGameService.close();
+    }
+
+    /**
+     * Inicia un nuevo juego.
+     */
+    @GetMapping("/start")
+    public Mono<ResponseEntity<Map<String, Object>>> startGame(@RequestParam(defaultValue = "5") int boardSize) {
+        return games.offload(() -> hexGameService.createGame(boardSize, "easy", new HashMap<>()))
+                .map(state -> ResponseEntity.ok(toResponse(state, true)))
+                .onErrorResume(e -> failure("Error al iniciar el juego", e));
+    }
+
+    /**
+     * Ejecuta un movimiento del jugador.
+     */
+    @PostMapping("/block")
+    public Mono<ResponseEntity<Map<String, Object>>> blockPosition(
+            @RequestParam String gameId,
+            @RequestParam int q,
+            @RequestParam int r) {
+        return games.offload(() -> hexGameService.executePlayerMove(gameId, HexPosition.of(q, r), "player1").orElse(null))
+                .map(state -> ResponseEntity.ok(toResponse(state, false)))
+                .defaultIfEmpty(ResponseEntity.notFound().build())
+                .onErrorResume(e -> failure("Error al ejecutar movimiento", e));
+    }
+
+    /**
+     * Obtiene el estado actual del juego.
+     */
+    @GetMapping("/state/{gameId}")
+    public Mono<ResponseEntity<Map<String, Object>>> getGameState(@PathVariable String gameId) {
+        return games.findById(gameId)
+                .map(state -> ResponseEntity.ok(toResponse(state, true)))
+                .defaultIfEmpty(ResponseEntity.notFound().build())
+                .onErrorResume(e -> failure("Error al obtener estado del juego", e));
+    }
+
+    /**
+     * Obtiene estadísticas del juego.
+     */
+    @GetMapping("/statistics/{gameId}")
+    public Mono<ResponseEntity<Map<String, Object>>> getGameStatistics(@PathVariable String gameId) {
+        return Mono.just(ResponseEntity.ok(Map.of("error", "Student implementation not available yet")));
+    }
+
+    /**
+     * Obtiene sugerencia de movimiento.
+     */
+    @GetMapping("/suggestion/{gameId}")
+    public Mono<ResponseEntity<Map<String, Object>>> getSuggestion(@PathVariable String gameId) {
+        return Mono.just(ResponseEntity.ok(Map.of("error", "Student implementation not available yet")));
+    }
+
+    /**
+     * Obtiene información sobre qué implementación se está usando.
+     */
+    @GetMapping("/implementation-info")
+    public Mono<ResponseEntity<Map<String, Object>>> getImplementationInfo() {
+        Map<String, Object> info = new HashMap<>();
+        info.put("useExampleImplementation", false);
+        info.put("currentImplementation", "impl");
+        info.put("description", "Usando implementaciones de estudiantes");
+        info.put("api", "reactive");
+        return Mono.just(ResponseEntity.ok(info));
+    }
+
+    private static Map<String, Object> toResponse(HexGameState gameState, boolean includeBoardSize) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("gameId", gameState.getGameId());
+        response.put("status", gameState.getStatus().toString());
+        response.put("catPosition", Map.of("q", gameState.getCatPosition().getQ(), "r", gameState.getCatPosition().getR()));
+        response.put("blockedCells", gameState.getGameBoard().getBlockedPositions());
+        response.put("movesCount", gameState.getMoveCount());
+        if (includeBoardSize) {
+            response.put("boardSize", gameState.getBoardSize());
+        }
+        response.put("implementation", "impl");
+        return response;
+    }
+
+    private static Mono<ResponseEntity<Map<String, Object>>> failure(String message, Throwable error) {
+        if (error instanceof RejectedExecutionException) {
+            return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Map.of("error", "Servidor ocupado, intente nuevamente")));
+        }
+        return Mono.just(ResponseEntity.internalServerError()
+                .body(Map.of("error", message + ": " + error.getMessage())));
+    }
+}
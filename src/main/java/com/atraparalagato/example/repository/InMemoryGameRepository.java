@@ -5,7 +5,8 @@ import com.atraparalagato.example.model.ExampleGameState;
 
 import java.time.ZoneId;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -20,12 +21,13 @@ import java.util.stream.Collectors;
  * 3. Implementar manejo de transacciones más sofisticado
  * 4. Agregar validaciones y manejo de errores más robusto
  * 
- * Esta implementación usa ConcurrentHashMap para thread-safety básico.
+ * Esta implementación usa ConcurrentSkipListMap: thread-safe y ordenado por
+ * id, así que recorrer o paginar siempre da el mismo orden.
  */
 public class InMemoryGameRepository extends DataRepository<ExampleGameState, String> {
     
-    // Almacenamiento en memoria thread-safe
-    private final Map<String, ExampleGameState> storage = new ConcurrentHashMap<>();
+    // Almacenamiento en memoria thread-safe, ordenado por id
+    private final ConcurrentNavigableMap<String, ExampleGameState> storage = new ConcurrentSkipListMap<>();
     
     @Override
     public ExampleGameState save(ExampleGameState entity) {
@@ -131,22 +133,41 @@ public class InMemoryGameRepository extends DataRepository<ExampleGameState, Str
             return Collections.emptyList();
         }
         
-        List<ExampleGameState> allGames = findAll();
-        int startIndex = page * size;
-        int endIndex = Math.min(startIndex + size, allGames.size());
-        
-        if (startIndex >= allGames.size()) {
-            return Collections.emptyList();
+        // Orden por id; se saltea sin copiar todo el almacenamiento
+        return storage.values().stream()
+                .skip((long) page * size)
+                .limit(size)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Paginación por clave sobre el orden natural del mapa (id): devuelve
+     * hasta size partidas con id mayor que afterId (null = desde el inicio).
+     * Para la página siguiente se pasa el id de la última partida recibida.
+     * Cada página cuesta lo mismo sin importar su profundidad, porque
+     * tailMap no recorre las partidas anteriores.
+     *
+     * Solo se pagina por id: ordenar por otro campo obligaría a ordenar todo
+     * el almacenamiento en cada pedido. El paquete impl ofrece orden por
+     * puntuación y fecha con índices (H2GameRepository.findPage).
+     */
+    public List<ExampleGameState> findPageAfter(String afterId, int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
         }
-        
-        return allGames.subList(startIndex, endIndex);
+        Collection<ExampleGameState> rest = afterId == null
+                ? storage.values()
+                : storage.tailMap(afterId, false).values();
+        return rest.stream()
+                .limit(size)
+                .collect(Collectors.toList());
     }
     
     @Override
     public List<ExampleGameState> findAllSorted(Function<ExampleGameState, ? extends Comparable<?>> sortKeyExtractor, 
                                                boolean ascending) {
         @SuppressWarnings("unchecked")
-        Comparator<ExampleGameState> comparator = (Comparator<ExampleGameState>) Comparator.comparing(
+        Comparator<ExampleGameState> comparator = Comparator.comparing(
             (Function<ExampleGameState, Comparable<Object>>) sortKeyExtractor
         );
         
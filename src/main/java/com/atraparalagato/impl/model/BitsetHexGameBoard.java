@@ -0,0 +1,151 @@
+package com.atraparalagato.impl.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Tablero hexagonal que guarda las celdas bloqueadas en un bitset.
+ *
+ * Cada coordenada axial dentro del tablero se traduce a un índice denso
+ * compartido por todos los tableros del mismo tamaño ({@link HexBoardIndex}),
+ * y el estado bloqueado/libre se guarda en un {@link HexCellSet}. Las consultas
+ * isBlocked() se reducen a una búsqueda en arreglo y una máscara de bits, sin
+ * calcular hashCode() ni recorrer buckets.
+ *
+ * Cumple el mismo contrato que HexGameBoard, por lo que HexGameState y las
+ * estrategias lo usan sin cambios. Además expone operaciones por índice para
+ * los algoritmos que quieran evitar crear objetos HexPosition.
+ *
+ * También mantiene la distancia de escape de cada celda (pasos hasta el borde
+ * libre más cercano). Se calcula completa la primera vez que se consulta y a
+ * partir de ahí cada movimiento solo repara la zona afectada, de modo que las
+ * estrategias la leen en O(1).
+ */
+public class BitsetHexGameBoard extends HexGameBoard {
+
+    private final HexCellSet blockedCells;
+    private final HexBoardIndex index;
+    private final EscapeDistanceField escapeDistances = new EscapeDistanceField();
+    private boolean escapeDistancesReady;
+
+    public BitsetHexGameBoard(int size) {
+        super(size);
+        // initializeBlockedPositions() se ejecuta desde el constructor base
+        this.blockedCells = (HexCellSet) blockedPositions;
+        this.index = blockedCells.getIndex();
+    }
+
+    @Override
+    protected Set<HexPosition> initializeBlockedPositions() {
+        return new HexCellSet(HexBoardIndex.forSize(size));
+    }
+
+    @Override
+    public boolean isPositionInBounds(HexPosition position) {
+        return index.indexOf(position) >= 0;
+    }
+
+    @Override
+    protected void executeMove(HexPosition position) {
+        blockedCells.addCell(index.indexOf(position));
+    }
+
+    @Override
+    protected void onMoveExecuted(HexPosition position) {
+        super.onMoveExecuted(position);
+        if (escapeDistancesReady) {
+            escapeDistances.onCellBlocked(this, index.indexOf(position));
+        }
+    }
+
+    @Override
+    public List<HexPosition> getAdjacentPositions(HexPosition position) {
+        int cell = index.indexOf(position);
+        if (cell < 0) {
+            return super.getAdjacentPositions(position);
+        }
+        List<HexPosition> adjacent = new ArrayList<>(HexBoardIndex.DIRECTIONS);
+        for (int dir = 0; dir < HexBoardIndex.DIRECTIONS; dir++) {
+            int neighbor = index.neighbor(cell, dir);
+            if (neighbor >= 0 && !blockedCells.containsCell(neighbor)) {
+                adjacent.add(index.positionAt(neighbor));
+            }
+        }
+        return adjacent;
+    }
+
+    @Override
+    public boolean isBlocked(HexPosition position) {
+        int cell = index.indexOf(position);
+        return cell >= 0 && blockedCells.containsCell(cell);
+    }
+
+    // Operaciones por índice
+
+    public HexBoardIndex getIndex() {
+        return index;
+    }
+
+    public boolean isBlockedCell(int cell) {
+        return blockedCells.containsCell(cell);
+    }
+
+    /**
+     * Copia en out los índices de los vecinos libres de la celda, en el mismo
+     * orden que getAdjacentPositions(), y devuelve cuántos hay.
+     * out debe tener espacio para HexBoardIndex.DIRECTIONS elementos.
+     * No crea objetos: pensado para los bucles de BFS/A*.
+     */
+    public int getFreeNeighbors(int cell, int[] out) {
+        int count = 0;
+        for (int dir = 0; dir < HexBoardIndex.DIRECTIONS; dir++) {
+            int neighbor = index.neighbor(cell, dir);
+            if (neighbor >= 0 && !blockedCells.containsCell(neighbor)) {
+                out[count++] = neighbor;
+            }
+        }
+        return count;
+    }
+
+    public int getBlockedCount() {
+        return blockedCells.size();
+    }
+
+    /**
+     * Celdas bloqueadas como bitset (bit i = celda i del índice).
+     */
+    public long[] getBlockedWords() {
+        return blockedCells.toWords();
+    }
+
+    /**
+     * Reemplaza las celdas bloqueadas por el bitset dado (ver getBlockedWords()).
+     * Pensado para restaurar un tablero guardado; no valida reglas de juego.
+     */
+    public void restoreBlockedWords(long[] words) {
+        blockedCells.loadWords(words);
+        // El campo de distancias se recalcula completo en la próxima consulta
+        escapeDistancesReady = false;
+    }
+
+    /**
+     * Pasos mínimos desde la celda hasta un borde libre, o
+     * EscapeDistanceField.UNREACHABLE si está bloqueada o encerrada.
+     */
+    public int getEscapeDistanceAt(int cell) {
+        return escapeDistances().distanceAt(cell);
+    }
+
+    public int getEscapeDistance(HexPosition position) {
+        return escapeDistances().distanceAt(position);
+    }
+
+    private EscapeDistanceField escapeDistances() {
+        if (!escapeDistancesReady) {
+            escapeDistances.compute(this);
+            escapeDistancesReady = true;
+        }
+        return escapeDistances;
+    }
+}
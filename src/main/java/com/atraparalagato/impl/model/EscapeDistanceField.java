@@ -0,0 +1,212 @@
+package com.atraparalagato.impl.model;
+
+import java.util.Arrays;
+
+/**
+ * Campo de distancias de escape de un tablero hexagonal.
+ *
+ * Guarda, para cada celda, el número mínimo de pasos hasta una celda libre del
+ * borde. Se calcula con un único BFS inverso que parte a la vez de todas las
+ * celdas libres del borde, así que una sola pasada O(celdas) responde la
+ * distancia de cualquier posición del gato.
+ *
+ * Los arreglos se reservan una vez por tamaño de tablero y se reutilizan en
+ * cada cálculo posterior.
+ *
+ * Cuando se bloquea una sola celda no hace falta recalcular todo:
+ * onCellBlocked() repara únicamente la región cuyo camino más corto pasaba por
+ * esa celda (BFS dinámico decremental), dejando intactas las demás distancias.
+ */
+public class EscapeDistanceField {
+
+    /**
+     * Distancia de las celdas bloqueadas o sin camino al borde.
+     */
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private HexBoardIndex index;
+    private int[] distance;
+    private int[] queue;
+    private int[] repairDistance;
+    private long[] seeds;
+    private int[] mark;
+    private int stamp;
+    private final int[] neighborBuffer = new int[HexBoardIndex.DIRECTIONS];
+
+    /**
+     * Recalcula el campo completo para el estado actual del tablero.
+     */
+    public void compute(BitsetHexGameBoard board) {
+        ensureCapacity(board.getIndex());
+        Arrays.fill(distance, UNREACHABLE);
+
+        int head = 0;
+        int tail = 0;
+        for (int cell = index.getBorderStart(); cell < index.getCellCount(); cell++) {
+            if (!board.isBlockedCell(cell)) {
+                distance[cell] = 0;
+                queue[tail++] = cell;
+            }
+        }
+
+        while (head < tail) {
+            int current = queue[head++];
+            int next = distance[current] + 1;
+            int count = board.getFreeNeighbors(current, neighborBuffer);
+            for (int i = 0; i < count; i++) {
+                int neighbor = neighborBuffer[i];
+                if (distance[neighbor] == UNREACHABLE) {
+                    distance[neighbor] = next;
+                    queue[tail++] = neighbor;
+                }
+            }
+        }
+    }
+
+    /**
+     * Actualiza el campo tras bloquear una celda del tablero.
+     *
+     * Fase 1: se invalidan, por niveles, las celdas que se quedan sin ningún
+     * vecino a distancia d-1 válido (solo pueden empeorar las que dependían de
+     * la celda bloqueada). Fase 2: las celdas invalidadas se recalculan con un
+     * BFS multi-origen sembrado desde sus vecinos válidos.
+     *
+     * El campo debe haberse calculado antes con compute() sobre el mismo tablero.
+     */
+    public void onCellBlocked(BitsetHexGameBoard board, int blockedCell) {
+        int blockedDistance = distance[blockedCell];
+        if (blockedDistance == UNREACHABLE) {
+            return; // Nadie dependía de una celda sin salida
+        }
+        distance[blockedCell] = UNREACHABLE;
+        int currentStamp = nextStamp();
+
+        // Fase 1: invalidar las celdas que dependían de la celda bloqueada
+        int head = 0;
+        int tail = enqueueChildren(board, blockedCell, blockedDistance + 1, currentStamp, 0);
+        int invalidCount = 0;
+        while (head < tail) {
+            int cell = queue[head++];
+            int cellDistance = distance[cell];
+            if (!hasSupport(board, cell, cellDistance - 1)) {
+                distance[cell] = UNREACHABLE;
+                seeds[invalidCount++] = cell;
+                tail = enqueueChildren(board, cell, cellDistance + 1, currentStamp, tail);
+            }
+        }
+        if (invalidCount == 0) {
+            return;
+        }
+
+        // Fase 2: distancia provisional de cada celda invalidada desde sus vecinos válidos
+        int seedCount = 0;
+        for (int i = 0; i < invalidCount; i++) {
+            int cell = (int) seeds[i];
+            int best = UNREACHABLE;
+            int count = board.getFreeNeighbors(cell, neighborBuffer);
+            for (int n = 0; n < count; n++) {
+                int neighborDistance = distance[neighborBuffer[n]];
+                if (neighborDistance != UNREACHABLE && neighborDistance + 1 < best) {
+                    best = neighborDistance + 1;
+                }
+            }
+            if (best != UNREACHABLE) {
+                distance[cell] = best;
+                seeds[seedCount++] = ((long) best << 32) | cell;
+            }
+        }
+        Arrays.sort(seeds, 0, seedCount);
+
+        // Propagación: mezcla de semillas ordenadas y cola FIFO, ambas no decrecientes
+        int seedHead = 0;
+        head = 0;
+        tail = 0;
+        while (seedHead < seedCount || head < tail) {
+            int cell;
+            int cellDistance;
+            if (head < tail && (seedHead == seedCount || repairDistance[head] <= (int) (seeds[seedHead] >>> 32))) {
+                cellDistance = repairDistance[head];
+                cell = queue[head++];
+            } else {
+                cellDistance = (int) (seeds[seedHead] >>> 32);
+                cell = (int) seeds[seedHead++];
+            }
+            if (distance[cell] != cellDistance) {
+                continue; // Entrada obsoleta: ya se encontró una distancia menor
+            }
+            int count = board.getFreeNeighbors(cell, neighborBuffer);
+            for (int n = 0; n < count; n++) {
+                int neighbor = neighborBuffer[n];
+                if (distance[neighbor] > cellDistance + 1) {
+                    distance[neighbor] = cellDistance + 1;
+                    repairDistance[tail] = cellDistance + 1;
+                    queue[tail++] = neighbor;
+                }
+            }
+        }
+    }
+
+    public HexBoardIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * Distancia de escape de la celda, o UNREACHABLE.
+     */
+    public int distanceAt(int cell) {
+        return distance[cell];
+    }
+
+    /**
+     * Distancia de escape de la posición, o UNREACHABLE si está fuera del tablero.
+     */
+    public int distanceAt(HexPosition position) {
+        int cell = index.indexOf(position);
+        return cell < 0 ? UNREACHABLE : distance[cell];
+    }
+
+    private boolean hasSupport(BitsetHexGameBoard board, int cell, int parentDistance) {
+        int count = board.getFreeNeighbors(cell, neighborBuffer);
+        for (int n = 0; n < count; n++) {
+            if (distance[neighborBuffer[n]] == parentDistance) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int enqueueChildren(BitsetHexGameBoard board, int cell, int childDistance,
+                                int currentStamp, int tail) {
+        HexBoardIndex boardIndex = board.getIndex();
+        for (int dir = 0; dir < HexBoardIndex.DIRECTIONS; dir++) {
+            int neighbor = boardIndex.neighbor(cell, dir);
+            if (neighbor >= 0 && distance[neighbor] == childDistance
+                    && mark[neighbor] != currentStamp && !board.isBlockedCell(neighbor)) {
+                mark[neighbor] = currentStamp;
+                queue[tail++] = neighbor;
+            }
+        }
+        return tail;
+    }
+
+    private int nextStamp() {
+        if (++stamp == 0) {
+            Arrays.fill(mark, 0);
+            stamp = 1;
+        }
+        return stamp;
+    }
+
+    private void ensureCapacity(HexBoardIndex boardIndex) {
+        if (index != boardIndex) {
+            int cellCount = boardIndex.getCellCount();
+            index = boardIndex;
+            distance = new int[cellCount];
+            queue = new int[cellCount];
+            repairDistance = new int[cellCount];
+            seeds = new long[cellCount];
+            mark = new int[cellCount];
+            stamp = 0;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.atraparalagato.impl.model;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice denso de las celdas de un tablero hexagonal de un tamaño dado.
+ *
+ * Asigna a cada coordenada axial dentro de los límites (incluido el borde)
+ * un entero en el rango [0, getCellCount()). Las celdas se numeran por anillos:
+ * primero el centro, luego el anillo 1, y así hasta el borde, de modo que las
+ * celdas del borde ocupan el tramo final [getBorderStart(), getCellCount()).
+ *
+ * Conceptos implementados:
+ * - Inmutabilidad: una instancia por tamaño, compartida entre todos los juegos
+ * - Eficiencia: traducción coordenada → índice con un acceso a arreglo
+ */
+public final class HexBoardIndex {
+
+    /**
+     * Número máximo de vecinos de una celda hexagonal.
+     */
+    public static final int DIRECTIONS = 6;
+
+    // Mismo orden que HexGameBoard: Este, Noreste, Noroeste, Oeste, Suroeste, Sureste
+    private static final int[] DIRECTION_Q = {1, 1, 0, -1, -1, 0};
+    private static final int[] DIRECTION_R = {0, -1, -1, 0, 1, 1};
+
+    private static final Map<Integer, HexBoardIndex> INDEX_BY_SIZE = new ConcurrentHashMap<>();
+
+    private final int size;
+    private final int diameter;
+    private final int[] cellByOffset; // (q + size) * diameter + (r + size) -> índice o -1
+    private final int[] qs;
+    private final int[] rs;
+    private final HexPosition[] positions;
+    private final int borderStart;
+    private final int[] neighbors; // cell * DIRECTIONS + dir -> índice vecino o -1
+
+    private HexBoardIndex(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("El tamaño del tablero debe ser positivo: " + size);
+        }
+        this.size = size;
+        this.diameter = 2 * size + 1;
+        this.cellByOffset = new int[diameter * diameter];
+
+        int cellCount = 3 * size * (size + 1) + 1;
+        this.qs = new int[cellCount];
+        this.rs = new int[cellCount];
+        this.positions = new HexPosition[cellCount];
+
+        Arrays.fill(cellByOffset, -1);
+
+        // Numerar por anillos para que el borde quede al final
+        int next = 0;
+        for (int ring = 0; ring <= size; ring++) {
+            for (int q = -size; q <= size; q++) {
+                for (int r = -size; r <= size; r++) {
+                    if (ringOf(q, r) == ring) {
+                        cellByOffset[offset(q, r)] = next;
+                        qs[next] = q;
+                        rs[next] = r;
+                        positions[next] = HexPosition.of(q, r);
+                        next++;
+                    }
+                }
+            }
+        }
+        this.borderStart = cellCount - 6 * size;
+
+        // Tabla de adyacencia: los vecinos fuera del tablero quedan en -1
+        this.neighbors = new int[cellCount * DIRECTIONS];
+        for (int cell = 0; cell < cellCount; cell++) {
+            for (int dir = 0; dir < DIRECTIONS; dir++) {
+                neighbors[cell * DIRECTIONS + dir] = indexOf(qs[cell] + DIRECTION_Q[dir], rs[cell] + DIRECTION_R[dir]);
+            }
+        }
+    }
+
+    /**
+     * Obtiene el índice compartido para un tamaño de tablero.
+     */
+    public static HexBoardIndex forSize(int size) {
+        return INDEX_BY_SIZE.computeIfAbsent(size, HexBoardIndex::new);
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Número total de celdas, incluyendo el borde.
+     */
+    public int getCellCount() {
+        return qs.length;
+    }
+
+    /**
+     * Primer índice perteneciente al anillo del borde.
+     */
+    public int getBorderStart() {
+        return borderStart;
+    }
+
+    /**
+     * Número de palabras de 64 bits necesarias para un bitset de todas las celdas.
+     */
+    public int getWordCount() {
+        return (qs.length + 63) >>> 6;
+    }
+
+    /**
+     * Índice de la coordenada axial (q, r), o -1 si está fuera del tablero.
+     */
+    public int indexOf(int q, int r) {
+        if (q < -size || q > size || r < -size || r > size) {
+            return -1;
+        }
+        return cellByOffset[offset(q, r)];
+    }
+
+    public int indexOf(HexPosition position) {
+        return indexOf(position.getQ(), position.getR());
+    }
+
+    public int getQ(int cell) {
+        return qs[cell];
+    }
+
+    public int getR(int cell) {
+        return rs[cell];
+    }
+
+    /**
+     * Distancia hexagonal desde el centro hasta la celda.
+     */
+    public int ringOf(int cell) {
+        return ringOf(qs[cell], rs[cell]);
+    }
+
+    public boolean isBorder(int cell) {
+        return cell >= borderStart;
+    }
+
+    public HexPosition positionAt(int cell) {
+        return positions[cell];
+    }
+
+    /**
+     * Vecino de la celda en la dirección dada (0..5), o -1 si cae fuera del tablero.
+     */
+    public int neighbor(int cell, int direction) {
+        return neighbors[cell * DIRECTIONS + direction];
+    }
+
+    private int offset(int q, int r) {
+        return (q + size) * diameter + (r + size);
+    }
+
+    private static int ringOf(int q, int r) {
+        return Math.max(Math.abs(q), Math.max(Math.abs(r), Math.abs(q + r)));
+    }
+}
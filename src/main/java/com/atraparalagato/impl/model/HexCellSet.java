@@ -0,0 +1,192 @@
+package com.atraparalagato.impl.model;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Conjunto de posiciones hexagonales respaldado por un bitset.
+ *
+ * Cada posición del tablero se traduce a su índice denso (ver {@link HexBoardIndex})
+ * y su pertenencia se guarda en un bit de un arreglo long[]. Para un tablero de
+ * tamaño 10 (331 celdas) todo el conjunto cabe en 6 palabras.
+ *
+ * Solo admite posiciones dentro de los límites del índice; contains() devuelve
+ * false para cualquier otra posición y add() lanza IllegalArgumentException.
+ */
+public class HexCellSet extends AbstractSet<HexPosition> {
+
+    private final HexBoardIndex index;
+    private final long[] words;
+    private int count;
+    private int modCount;
+
+    public HexCellSet(HexBoardIndex index) {
+        this.index = index;
+        this.words = new long[index.getWordCount()];
+    }
+
+    public HexBoardIndex getIndex() {
+        return index;
+    }
+
+    // Operaciones por índice (sin crear objetos)
+
+    public boolean containsCell(int cell) {
+        return (words[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    public boolean addCell(int cell) {
+        long mask = 1L << cell;
+        int word = cell >>> 6;
+        if ((words[word] & mask) != 0) {
+            return false;
+        }
+        words[word] |= mask;
+        count++;
+        modCount++;
+        return true;
+    }
+
+    public boolean removeCell(int cell) {
+        long mask = 1L << cell;
+        int word = cell >>> 6;
+        if ((words[word] & mask) == 0) {
+            return false;
+        }
+        words[word] &= ~mask;
+        count--;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Siguiente celda presente a partir de fromCell (inclusive), o -1 si no hay más.
+     */
+    public int nextCell(int fromCell) {
+        int word = fromCell >>> 6;
+        if (word >= words.length) {
+            return -1;
+        }
+        long bits = words[word] & (-1L << fromCell);
+        while (true) {
+            if (bits != 0) {
+                return (word << 6) + Long.numberOfTrailingZeros(bits);
+            }
+            if (++word == words.length) {
+                return -1;
+            }
+            bits = words[word];
+        }
+    }
+
+    /**
+     * Copia de las palabras del bitset: el bit i indica si la celda i está presente.
+     */
+    public long[] toWords() {
+        return words.clone();
+    }
+
+    /**
+     * Reemplaza el contenido por el bitset dado (mismo formato que toWords()).
+     * Se admiten arreglos más cortos: las palabras que faltan valen cero.
+     */
+    public void loadWords(long[] source) {
+        if (source.length > words.length) {
+            throw new IllegalArgumentException("Bitset demasiado grande para el tablero: " + source.length + " palabras");
+        }
+        int cellCount = index.getCellCount();
+        if (source.length == words.length && (cellCount & 63) != 0
+                && (source[source.length - 1] & (-1L << cellCount)) != 0) {
+            throw new IllegalArgumentException("Bitset con celdas fuera del tablero");
+        }
+        Arrays.fill(words, 0L);
+        System.arraycopy(source, 0, words, 0, source.length);
+        int total = 0;
+        for (long word : words) {
+            total += Long.bitCount(word);
+        }
+        count = total;
+        modCount++;
+    }
+
+    // Implementación de Set<HexPosition>
+
+    @Override
+    public boolean contains(Object o) {
+        if (!(o instanceof HexPosition position)) {
+            return false;
+        }
+        int cell = index.indexOf(position);
+        return cell >= 0 && containsCell(cell);
+    }
+
+    @Override
+    public boolean add(HexPosition position) {
+        int cell = index.indexOf(position);
+        if (cell < 0) {
+            throw new IllegalArgumentException("Posición fuera del tablero: " + position);
+        }
+        return addCell(cell);
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (!(o instanceof HexPosition position)) {
+            return false;
+        }
+        int cell = index.indexOf(position);
+        return cell >= 0 && removeCell(cell);
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(words, 0L);
+        count = 0;
+        modCount++;
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    @Override
+    public Iterator<HexPosition> iterator() {
+        return new Iterator<>() {
+            private int next = nextCell(0);
+            private int last = -1;
+            private int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return next >= 0;
+            }
+
+            @Override
+            public HexPosition next() {
+                if (next < 0) {
+                    throw new NoSuchElementException();
+                }
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                last = next;
+                next = nextCell(next + 1);
+                return index.positionAt(last);
+            }
+
+            @Override
+            public void remove() {
+                if (last < 0) {
+                    throw new IllegalStateException();
+                }
+                removeCell(last);
+                last = -1;
+                expectedModCount = modCount;
+            }
+        };
+    }
+}
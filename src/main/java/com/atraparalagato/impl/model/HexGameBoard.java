@@ -3,7 +3,6 @@ package com.atraparalagato.impl.model;
 import com.atraparalagato.base.model.GameBoard;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -24,6 +23,16 @@ import java.util.stream.Collectors;
  */
 public class HexGameBoard extends GameBoard<HexPosition> {
     
+    // Direcciones hexagonales: las 6 direcciones posibles
+    private static final HexPosition[] DIRECTIONS = {
+        HexPosition.of(1, 0),   // Este
+        HexPosition.of(1, -1),  // Noreste
+        HexPosition.of(0, -1),  // Noroeste
+        HexPosition.of(-1, 0),  // Oeste
+        HexPosition.of(-1, 1),  // Suroeste
+        HexPosition.of(0, 1)    // Sureste
+    };
+    
     public HexGameBoard(int size) {
         super(size);
     }
@@ -44,7 +53,7 @@ public class HexGameBoard extends GameBoard<HexPosition> {
     }
     
     @Override
-    protected boolean isValidMove(HexPosition position) {
+    public boolean isValidMove(HexPosition position) {
         // Un movimiento del JUGADOR es válido si está DENTRO del tablero (no en el borde) y no está bloqueado
         // El gato puede moverse al borde, pero el jugador no puede bloquear el borde
         return isPositionInBounds(position) && 
@@ -68,21 +77,15 @@ public class HexGameBoard extends GameBoard<HexPosition> {
     
     @Override
     public List<HexPosition> getAdjacentPositions(HexPosition position) {
-        // Direcciones hexagonales: las 6 direcciones posibles
-        HexPosition[] directions = {
-            new HexPosition(1, 0),   // Este
-            new HexPosition(1, -1),  // Noreste
-            new HexPosition(0, -1),  // Noroeste
-            new HexPosition(-1, 0),  // Oeste
-            new HexPosition(-1, 1),  // Suroeste
-            new HexPosition(0, 1)    // Sureste
-        };
-        
-        return Arrays.stream(directions)
-                .map(dir -> (HexPosition) position.add(dir))
-                .filter(this::isPositionInBounds) // Incluye posiciones del borde
-                .filter(pos -> !isBlocked(pos))   // Excluye posiciones bloqueadas
-                .collect(Collectors.toList());
+        List<HexPosition> adjacent = new ArrayList<>(DIRECTIONS.length);
+        for (HexPosition dir : DIRECTIONS) {
+            HexPosition pos = (HexPosition) position.add(dir);
+            // Incluye posiciones del borde, excluye posiciones bloqueadas
+            if (isPositionInBounds(pos) && !isBlocked(pos)) {
+                adjacent.add(pos);
+            }
+        }
+        return adjacent;
     }
     
     @Override
@@ -104,7 +107,7 @@ public class HexGameBoard extends GameBoard<HexPosition> {
         // Generar todas las posiciones dentro del tablero (excluyendo el borde para jugabilidad)
         for (int q = -size + 1; q < size; q++) {
             for (int r = -size + 1; r < size; r++) {
-                HexPosition pos = new HexPosition(q, r);
+                HexPosition pos = HexPosition.of(q, r);
                 // Solo incluir posiciones que no están en el borde (donde el jugador puede jugar)
                 if (isPositionInBounds(pos) && !isAtBorder(pos)) {
                     positions.add(pos);
@@ -2,6 +2,10 @@ package com.atraparalagato.impl.model;
 
 import com.atraparalagato.base.model.GameState;
 
+import java.lang.reflect.Field;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -19,9 +23,21 @@ import java.util.Map;
  */
 public class HexGameState extends GameState<HexPosition> {
     
+    public static final String DIFFICULTY_EASY = "easy";
+    public static final String DIFFICULTY_HARD = "hard";
+    
+    // GameState.createdAt es final y se fija en el constructor (ver restoreCreatedAt)
+    private static final Field CREATED_AT = createdAtField();
+    
     private HexPosition catPosition;
-    private HexGameBoard gameBoard;
+    private BitsetHexGameBoard gameBoard;
     private final int boardSize;
+    // Jugador dueño de la partida (puede ser null en partidas anónimas)
+    private String playerId;
+    // Versión de la fila en la base (control optimista); 0 si nunca se leyó ni guardó
+    private long version;
+    // Dificultad elegida al crear la partida: decide la estrategia del gato
+    private String difficulty = DIFFICULTY_EASY;
     
     // TODO: Los estudiantes pueden agregar más campos según necesiten
     // Ejemplos: tiempo de juego, dificultad, power-ups, etc.
@@ -29,8 +45,8 @@ public class HexGameState extends GameState<HexPosition> {
     public HexGameState(String gameId, int boardSize) {
         super(gameId);
         this.boardSize = boardSize;
-        this.gameBoard = new HexGameBoard(boardSize);
-        this.catPosition = new HexPosition(0, 0); // Gato empieza en el centro
+        this.gameBoard = new BitsetHexGameBoard(boardSize);
+        this.catPosition = HexPosition.of(0, 0); // Gato empieza en el centro
     }
     
     @Override
@@ -100,33 +116,119 @@ public class HexGameState extends GameState<HexPosition> {
         state.put("status", getStatus().toString());
         state.put("moveCount", getMoveCount());
         state.put("boardSize", boardSize);
+        if (playerId != null) {
+            state.put("playerId", playerId);
+        }
+        state.put("difficulty", difficulty);
         return state;
     }
     
     @Override
     public void restoreFromSerializable(Object serializedState) {
-        // Implementación básica de restauración
-        if (serializedState instanceof Map) {
-            @SuppressWarnings("unchecked")
-            Map<String, Object> state = (Map<String, Object>) serializedState;
-            
-            // Restaurar posición del gato
-            @SuppressWarnings("unchecked")
-            Map<String, Integer> catPos = (Map<String, Integer>) state.get("catPosition");
-            if (catPos != null) {
-                this.catPosition = new HexPosition(catPos.get("q"), catPos.get("r"));
-            }
-            
-            // Restaurar estado del juego
-            String statusStr = (String) state.get("status");
-            if (statusStr != null) {
-                setStatus(GameStatus.valueOf(statusStr));
+        // Restaura todo lo que escribe getSerializableState(), sea el mapa
+        // original o el resultado de leer su JSON (mapas y listas genéricos)
+        if (!(serializedState instanceof Map<?, ?> state)) {
+            throw new IllegalArgumentException("Estado serializado inválido: " + serializedState);
+        }
+        
+        Object size = state.get("boardSize");
+        if (size instanceof Number number && number.intValue() != boardSize) {
+            throw new IllegalArgumentException("Tamaño de tablero distinto: " + number + " != " + boardSize);
+        }
+        
+        HexPosition restoredCat = catPosition;
+        if (state.get("catPosition") != null) {
+            restoredCat = toPosition(state.get("catPosition"));
+        }
+        
+        GameStatus restoredStatus = getStatus();
+        if (state.get("status") != null) {
+            restoredStatus = GameStatus.valueOf(state.get("status").toString());
+        }
+        
+        int restoredMoves = getMoveCount();
+        if (state.get("moveCount") instanceof Number number) {
+            restoredMoves = number.intValue();
+        }
+        
+        long[] blockedWords = gameBoard.getBlockedWords();
+        if (state.get("blockedCells") instanceof Collection<?> cells) {
+            HexBoardIndex index = gameBoard.getIndex();
+            Arrays.fill(blockedWords, 0L);
+            for (Object cell : cells) {
+                HexPosition position = toPosition(cell);
+                int cellIndex = index.indexOf(position);
+                if (cellIndex < 0) {
+                    throw new IllegalArgumentException("Celda bloqueada fuera del tablero: " + position);
+                }
+                blockedWords[cellIndex >>> 6] |= 1L << cellIndex;
             }
         }
+        
+        if (state.get("playerId") != null) {
+            this.playerId = state.get("playerId").toString();
+        }
+        
+        if (state.get("difficulty") != null) {
+            setDifficulty(state.get("difficulty").toString());
+        }
+        
+        restoreState(restoredCat, restoredStatus, restoredMoves, blockedWords);
+    }
+    
+    /**
+     * Restaura el estado completo guardado: posición del gato, estado,
+     * cantidad de movimientos y celdas bloqueadas (bitset del tablero, ver
+     * BitsetHexGameBoard.getBlockedWords()). No recalcula el estado ni
+     * dispara callbacks.
+     */
+    public void restoreState(HexPosition catPosition, GameStatus status, int moveCount, long[] blockedWords) {
+        gameBoard.restoreBlockedWords(blockedWords);
+        this.catPosition = catPosition;
+        this.moveCount = moveCount;
+        setStatus(status);
+    }
+    
+    /**
+     * Restaura la fecha de creación guardada, para que una partida cargada no
+     * informe la hora de carga. GameState (paquete base, no modificable) la
+     * declara final y la fija en el constructor, así que se asigna por
+     * reflexión; solo la usan los repositorios al reconstruir una partida.
+     */
+    public void restoreCreatedAt(LocalDateTime createdAt) {
+        if (createdAt == null) {
+            return;
+        }
+        try {
+            CREATED_AT.set(this, createdAt);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("No se pudo restaurar createdAt", e);
+        }
     }
     
     // Métodos auxiliares que los estudiantes pueden implementar
     
+    private static Field createdAtField() {
+        try {
+            Field field = GameState.class.getDeclaredField("createdAt");
+            field.setAccessible(true);
+            return field;
+        } catch (NoSuchFieldException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+    
+    private static HexPosition toPosition(Object value) {
+        if (value instanceof HexPosition position) {
+            return position;
+        }
+        if (value instanceof Map<?, ?> map
+                && map.get("q") instanceof Number q && map.get("r") instanceof Number r) {
+            return HexPosition.of(q.intValue(), r.intValue());
+        }
+        throw new IllegalArgumentException("Posición serializada inválida: " + value);
+    }
+    
     /**
      * TODO: Verificar si el gato está en el borde del tablero.
      * Los estudiantes deben definir qué constituye "el borde".
@@ -168,6 +270,43 @@ public class HexGameState extends GameState<HexPosition> {
         return boardSize;
     }
     
+    public String getPlayerId() {
+        return playerId;
+    }
+    
+    public void setPlayerId(String playerId) {
+        this.playerId = playerId;
+    }
+    
+    public String getDifficulty() {
+        return difficulty;
+    }
+    
+    /**
+     * Acepta "easy" o "hard", sin distinguir mayúsculas.
+     */
+    public void setDifficulty(String difficulty) {
+        if (DIFFICULTY_HARD.equalsIgnoreCase(difficulty)) {
+            this.difficulty = DIFFICULTY_HARD;
+        } else if (DIFFICULTY_EASY.equalsIgnoreCase(difficulty)) {
+            this.difficulty = DIFFICULTY_EASY;
+        } else {
+            throw new IllegalArgumentException("La dificultad debe ser 'easy' o 'hard'.");
+        }
+    }
+    
+    /**
+     * Versión con la que se leyó o guardó por última vez. La asigna el
+     * repositorio; con 0 el próximo save escribe sin comprobar versión.
+     */
+    public long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(long version) {
+        this.version = version;
+    }
+    
     // TODO: Los estudiantes pueden agregar más métodos según necesiten
     // Ejemplos: getDifficulty(), getTimeElapsed(), getPowerUps(), etc.
 } 
\ No newline at end of file
@@ -1,6 +1,9 @@
 package com.atraparalagato.impl.model;
 
 import com.atraparalagato.base.model.Position;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 
 /**
  * Implementación concreta de Position para coordenadas hexagonales.
@@ -12,9 +15,28 @@ import com.atraparalagato.base.model.Position;
  * - OOP: Herencia de la clase base abstracta
  * - Inmutabilidad: Los objetos no cambian después de creados
  * - Encapsulación: Los campos son privados con acceso controlado
+ * - Flyweight: of() devuelve instancias canónicas para las coordenadas del tablero
  */
+@JsonIgnoreProperties(value = "s", allowGetters = true)
 public class HexPosition extends Position {
     
+    /**
+     * Radio cubierto por el pool de instancias canónicas. Alcanza para el tablero
+     * más grande (10) más el anillo exterior que se visita al calcular vecinos.
+     */
+    public static final int POOL_RADIUS = 11;
+    
+    private static final int POOL_DIAMETER = 2 * POOL_RADIUS + 1;
+    private static final HexPosition[] POOL = new HexPosition[POOL_DIAMETER * POOL_DIAMETER];
+    
+    static {
+        for (int q = -POOL_RADIUS; q <= POOL_RADIUS; q++) {
+            for (int r = -POOL_RADIUS; r <= POOL_RADIUS; r++) {
+                POOL[(q + POOL_RADIUS) * POOL_DIAMETER + (r + POOL_RADIUS)] = new HexPosition(q, r);
+            }
+        }
+    }
+    
     private final int q; // Coordenada axial q
     private final int r; // Coordenada axial r
     
@@ -23,6 +45,19 @@ public class HexPosition extends Position {
         this.r = r;
     }
     
+    /**
+     * Obtiene la posición (q, r). Dentro de POOL_RADIUS siempre devuelve la misma
+     * instancia, por lo que no crea objetos y equals() resuelve por identidad;
+     * fuera de ese rango crea una posición nueva.
+     */
+    @JsonCreator
+    public static HexPosition of(@JsonProperty("q") int q, @JsonProperty("r") int r) {
+        if (q < -POOL_RADIUS || q > POOL_RADIUS || r < -POOL_RADIUS || r > POOL_RADIUS) {
+            return new HexPosition(q, r);
+        }
+        return POOL[(q + POOL_RADIUS) * POOL_DIAMETER + (r + POOL_RADIUS)];
+    }
+    
     public int getQ() {
         return q;
     }
@@ -52,7 +87,7 @@ public class HexPosition extends Position {
         }
         
         HexPosition hex = (HexPosition) other;
-        return new HexPosition(q + hex.q, r + hex.r);
+        return of(q + hex.q, r + hex.r);
     }
     
     @Override
@@ -62,7 +97,7 @@ public class HexPosition extends Position {
         }
         
         HexPosition hex = (HexPosition) other;
-        return new HexPosition(q - hex.q, r - hex.r);
+        return of(q - hex.q, r - hex.r);
     }
     
     @Override
@@ -0,0 +1,335 @@
+package com.atraparalagato.impl.repository;
+
+import com.atraparalagato.base.model.GameState.GameStatus;
+import com.atraparalagato.impl.model.HexGameState;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Condición tipada sobre partidas, para usar con findWhere, countWhere y
+ * deleteWhere.
+ *
+ * Es un Predicate normal, así que cualquier repositorio la evalúa en memoria;
+ * H2GameRepository además la traduce a un WHERE parametrizado sobre las
+ * columnas indexadas y no carga las partidas que no cumplen. Ejemplo:
+ *
+ *   GameQuery.status(GameStatus.PLAYER_WON).and(GameQuery.boardSize().gte(7))
+ *
+ * Las lambdas arbitrarias siguen funcionando, pero se evalúan recorriendo
+ * todas las partidas. Combinar una GameQuery con una lambda (and/or con un
+ * Predicate cualquiera) da un Predicate común, que tampoco se traduce.
+ */
+public abstract sealed class GameQuery implements Predicate<HexGameState>
+        permits GameQuery.Comparison, GameQuery.All, GameQuery.Any, GameQuery.Not {
+
+    /**
+     * Campos consultables. Cada uno tiene su columna en game_state.
+     */
+    public enum Field {
+        GAME_ID(String.class, HexGameState::getGameId),
+        STATUS(GameStatus.class, HexGameState::getStatus),
+        BOARD_SIZE(Integer.class, HexGameState::getBoardSize),
+        MOVE_COUNT(Integer.class, HexGameState::getMoveCount),
+        SCORE(Integer.class, HexGameState::calculateScore),
+        PLAYER_ID(String.class, HexGameState::getPlayerId);
+
+        private final Class<?> valueType;
+        private final Function<HexGameState, Object> accessor;
+
+        Field(Class<?> valueType, Function<HexGameState, Object> accessor) {
+            this.valueType = valueType;
+            this.accessor = accessor;
+        }
+
+        public Class<?> getValueType() {
+            return valueType;
+        }
+
+        Object valueOf(HexGameState state) {
+            return accessor.apply(state);
+        }
+
+        /**
+         * Solo los campos numéricos admiten <, <=, > y >=: el orden de textos
+         * y enums en SQL no coincide con el de Java.
+         */
+        public boolean isOrdered() {
+            return valueType == Integer.class;
+        }
+    }
+
+    public enum Operator {
+        EQ, NE, LT, LTE, GT, GTE;
+
+        boolean isOrdering() {
+            return this != EQ && this != NE;
+        }
+
+        boolean matches(int comparison) {
+            return switch (this) {
+                case EQ -> comparison == 0;
+                case NE -> comparison != 0;
+                case LT -> comparison < 0;
+                case LTE -> comparison <= 0;
+                case GT -> comparison > 0;
+                case GTE -> comparison >= 0;
+            };
+        }
+    }
+
+    GameQuery() {
+    }
+
+    // Condiciones simples
+
+    public static GameQuery gameId(String gameId) {
+        return where(Field.GAME_ID, Operator.EQ, Objects.requireNonNull(gameId, "gameId"));
+    }
+
+    public static GameQuery status(GameStatus status) {
+        return where(Field.STATUS, Operator.EQ, Objects.requireNonNull(status, "status"));
+    }
+
+    /**
+     * Partidas del jugador; con null, las que no tienen jugador.
+     */
+    public static GameQuery playerId(String playerId) {
+        return where(Field.PLAYER_ID, Operator.EQ, playerId);
+    }
+
+    public static NumberCondition boardSize() {
+        return new NumberCondition(Field.BOARD_SIZE);
+    }
+
+    public static NumberCondition moveCount() {
+        return new NumberCondition(Field.MOVE_COUNT);
+    }
+
+    public static NumberCondition score() {
+        return new NumberCondition(Field.SCORE);
+    }
+
+    public static GameQuery where(Field field, Operator operator, Object value) {
+        return new Comparison(field, operator, value);
+    }
+
+    // Combinaciones
+
+    public static GameQuery allOf(GameQuery... queries) {
+        return new All(List.of(queries));
+    }
+
+    public static GameQuery anyOf(GameQuery... queries) {
+        return new Any(List.of(queries));
+    }
+
+    public GameQuery and(GameQuery other) {
+        return new All(List.of(this, other));
+    }
+
+    public GameQuery or(GameQuery other) {
+        return new Any(List.of(this, other));
+    }
+
+    @Override
+    public GameQuery negate() {
+        return new Not(this);
+    }
+
+    /**
+     * Constructor de comparaciones sobre un campo numérico.
+     */
+    public static final class NumberCondition {
+        private final Field field;
+
+        private NumberCondition(Field field) {
+            this.field = field;
+        }
+
+        public GameQuery eq(int value) {
+            return where(field, Operator.EQ, value);
+        }
+
+        public GameQuery ne(int value) {
+            return where(field, Operator.NE, value);
+        }
+
+        public GameQuery lt(int value) {
+            return where(field, Operator.LT, value);
+        }
+
+        public GameQuery lte(int value) {
+            return where(field, Operator.LTE, value);
+        }
+
+        public GameQuery gt(int value) {
+            return where(field, Operator.GT, value);
+        }
+
+        public GameQuery gte(int value) {
+            return where(field, Operator.GTE, value);
+        }
+
+        public GameQuery between(int min, int max) {
+            return gte(min).and(lte(max));
+        }
+    }
+
+    /**
+     * campo operador valor. Con valor null solo se admiten EQ y NE
+     * (equivalen a IS NULL / IS NOT NULL).
+     */
+    public static final class Comparison extends GameQuery {
+        private final Field field;
+        private final Operator operator;
+        private final Object value;
+
+        Comparison(Field field, Operator operator, Object value) {
+            this.field = Objects.requireNonNull(field, "field");
+            this.operator = Objects.requireNonNull(operator, "operator");
+            if (operator.isOrdering() && (!field.isOrdered() || value == null)) {
+                throw new IllegalArgumentException("Operador " + operator + " no válido para " + field);
+            }
+            if (value != null && !field.getValueType().isInstance(value)) {
+                throw new IllegalArgumentException("Valor de tipo " + value.getClass().getSimpleName() + " no válido para " + field);
+            }
+            this.value = value;
+        }
+
+        public Field getField() {
+            return field;
+        }
+
+        public Operator getOperator() {
+            return operator;
+        }
+
+        public Object getValue() {
+            return value;
+        }
+
+        @Override
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        public boolean test(HexGameState state) {
+            Object actual = field.valueOf(state);
+            if (actual == null || value == null) {
+                boolean equal = actual == value;
+                return operator == Operator.EQ ? equal : operator == Operator.NE && !equal;
+            }
+            return operator.matches(((Comparable) actual).compareTo(value));
+        }
+
+        @Override
+        public String toString() {
+            return field + " " + operator + " " + value;
+        }
+    }
+
+    /**
+     * Se cumplen todas (AND).
+     */
+    public static final class All extends GameQuery {
+        private final List<GameQuery> queries;
+
+        All(List<GameQuery> queries) {
+            this.queries = flatten(queries, All.class);
+        }
+
+        public List<GameQuery> getQueries() {
+            return queries;
+        }
+
+        @Override
+        public boolean test(HexGameState state) {
+            for (GameQuery query : queries) {
+                if (!query.test(state)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return "ALL" + queries;
+        }
+    }
+
+    /**
+     * Se cumple alguna (OR).
+     */
+    public static final class Any extends GameQuery {
+        private final List<GameQuery> queries;
+
+        Any(List<GameQuery> queries) {
+            this.queries = flatten(queries, Any.class);
+        }
+
+        public List<GameQuery> getQueries() {
+            return queries;
+        }
+
+        @Override
+        public boolean test(HexGameState state) {
+            for (GameQuery query : queries) {
+                if (query.test(state)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return "ANY" + queries;
+        }
+    }
+
+    public static final class Not extends GameQuery {
+        private final GameQuery query;
+
+        Not(GameQuery query) {
+            this.query = Objects.requireNonNull(query, "query");
+        }
+
+        public GameQuery getQuery() {
+            return query;
+        }
+
+        @Override
+        public boolean test(HexGameState state) {
+            return !query.test(state);
+        }
+
+        @Override
+        public String toString() {
+            return "NOT " + query;
+        }
+    }
+
+    /**
+     * a.and(b).and(c) queda como un solo All de tres, no anidado.
+     */
+    private static List<GameQuery> flatten(List<GameQuery> queries, Class<? extends GameQuery> type) {
+        if (queries.isEmpty()) {
+            throw new IllegalArgumentException("Se necesita al menos una condición");
+        }
+        List<GameQuery> flat = new ArrayList<>(queries.size());
+        for (GameQuery query : queries) {
+            Objects.requireNonNull(query, "query");
+            if (query instanceof All all && type == All.class) {
+                flat.addAll(all.queries);
+            } else if (query instanceof Any any && type == Any.class) {
+                flat.addAll(any.queries);
+            } else {
+                flat.add(query);
+            }
+        }
+        return Collections.unmodifiableList(flat);
+    }
+}
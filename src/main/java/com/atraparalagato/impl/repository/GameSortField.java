@@ -0,0 +1,80 @@
+package com.atraparalagato.impl.repository;
+
+import com.atraparalagato.base.model.GameState;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.function.Function;
+
+/**
+ * Orden de las páginas de findPage. El desempate es siempre por id
+ * ascendente, así que el orden es total y estable aunque haya claves
+ * repetidas.
+ *
+ *   GAME_ID     por id
+ *   CREATED_AT  más recientes primero
+ *   SCORE       mayor puntuación primero
+ */
+public enum GameSortField {
+    GAME_ID(false, state -> ""),
+    CREATED_AT(true, GameState::getCreatedAt),
+    SCORE(true, GameState::calculateScore);
+
+    private final boolean descending;
+    private final Function<GameState<?>, Comparable<?>> keyExtractor;
+
+    GameSortField(boolean descending, Function<GameState<?>, Comparable<?>> keyExtractor) {
+        this.descending = descending;
+        this.keyExtractor = keyExtractor;
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    /**
+     * Clave de orden de una partida (vacía para GAME_ID: el id ya es el desempate).
+     */
+    public Comparable<?> keyOf(GameState<?> state) {
+        return keyExtractor.apply(state);
+    }
+
+    /**
+     * Compara dos claves de este campo según su dirección.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public int compareKeys(Comparable<?> a, Comparable<?> b) {
+        int result = ((Comparable) a).compareTo(b);
+        return descending ? -result : result;
+    }
+
+    /**
+     * Orden completo de las partidas: clave y luego id.
+     */
+    public <S extends GameState<?>> Comparator<S> comparator() {
+        return (a, b) -> {
+            int byKey = compareKeys(keyOf(a), keyOf(b));
+            return byKey != 0 ? byKey : a.getGameId().compareTo(b.getGameId());
+        };
+    }
+
+    /**
+     * true si la partida va después de la posición (key, id) del token.
+     */
+    public boolean isAfter(GameState<?> state, Comparable<?> key, String id) {
+        int byKey = compareKeys(keyOf(state), key);
+        return byKey > 0 || (byKey == 0 && state.getGameId().compareTo(id) > 0);
+    }
+
+    String formatKey(Comparable<?> key) {
+        return key.toString();
+    }
+
+    Comparable<?> parseKey(String text) {
+        return switch (this) {
+            case GAME_ID -> "";
+            case CREATED_AT -> LocalDateTime.parse(text);
+            case SCORE -> Integer.valueOf(text);
+        };
+    }
+}
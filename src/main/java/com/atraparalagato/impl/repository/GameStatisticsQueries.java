@@ -0,0 +1,24 @@
+package com.atraparalagato.impl.repository;
+
+import java.util.List;
+
+/**
+ * Consultas de ranking y estadísticas que un repositorio puede resolver sin
+ * cargar todas las partidas (en H2, sobre columnas indexadas).
+ *
+ * HexGameService las usa cuando su repositorio las implementa y, si no,
+ * recorre las partidas en memoria.
+ */
+public interface GameStatisticsQueries {
+
+    /**
+     * Las limit partidas con mayor puntuación, de mayor a menor
+     * (empates por id para que el orden sea estable).
+     */
+    List<GameSummary> findTopScores(int limit);
+
+    /**
+     * Partidas jugadas, ganadas, puntuación promedio y máxima del jugador.
+     */
+    PlayerStatistics getPlayerStatistics(String playerId);
+}
@@ -0,0 +1,15 @@
+package com.atraparalagato.impl.repository;
+
+import com.atraparalagato.base.model.GameState.GameStatus;
+
+/**
+ * Resumen de una partida leído de las columnas indexadas de game_state,
+ * sin deserializar el tablero.
+ */
+public record GameSummary(String gameId,
+                          String playerId,
+                          GameStatus status,
+                          int score,
+                          int moveCount,
+                          int boardSize) {
+}
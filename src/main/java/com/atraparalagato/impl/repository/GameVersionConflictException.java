@@ -0,0 +1,24 @@
+package com.atraparalagato.impl.repository;
+
+import java.util.List;
+
+/**
+ * Una o más partidas se guardaron con una versión que ya no es la de la
+ * base: otro proceso las modificó desde que se leyeron. No se escribió
+ * nada de la operación; hay que volver a leer las partidas y reintentar.
+ */
+public class GameVersionConflictException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<String> gameIds;
+
+    public GameVersionConflictException(List<String> gameIds) {
+        super("Conflicto de versión en partidas: " + gameIds);
+        this.gameIds = List.copyOf(gameIds);
+    }
+
+    public List<String> getGameIds() {
+        return gameIds;
+    }
+}
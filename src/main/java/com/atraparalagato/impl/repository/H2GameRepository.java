@@ -1,19 +1,35 @@
 package com.atraparalagato.impl.repository;
 
+import com.atraparalagato.base.model.GameState;
 import com.atraparalagato.base.repository.DataRepository;
 import com.atraparalagato.impl.model.HexGameState;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
 
-import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import java.util.Comparator;
 import java.sql.Connection;
 import java.sql.Statement;
@@ -32,24 +48,60 @@ import java.sql.Statement;
  * - Consultas personalizadas
  * - Manejo de errores de BD
  */
-public class H2GameRepository extends DataRepository<HexGameState, String> {
+public class H2GameRepository extends DataRepository<HexGameState, String>
+        implements GameStatisticsQueries, KeysetPagination<HexGameState>, AutoCloseable {
     
-    // TODO: Los estudiantes deben definir la configuración de la base de datos
-    // Ejemplos: DataSource, JdbcTemplate, EntityManager, etc.
-
-    private static final String DB_URL = "jdbc:h2:mem:atraparalagato_db;DB_CLOSE_DELAY=-1";
-    private static final String USER = "sa";
-    private static final String PASSWORD = "";
-
-    private final ObjectMapper objectMapper = new ObjectMapper();
-
-    private Connection connection;
+    // Upsert en una sola sentencia para partidas sin versión (nuevas o
+    // guardadas sin leer antes); saveAll lo envía en lotes de BATCH_SIZE.
+    // Mantiene las columnas indexadas, conserva created_at (y player_id si no
+    // viene) de la fila existente, borra el JSON heredado (state_data) e
+    // incrementa version.
+    private static final String UPSERT_SQL = """
+        MERGE INTO game_state t
+        USING (VALUES (CAST(? AS VARCHAR(255)), CAST(? AS BLOB), CAST(? AS VARCHAR(20)), CAST(? AS INT),
+                       CAST(? AS INT), CAST(? AS INT), CAST(? AS VARCHAR(255)), CAST(? AS TIMESTAMP)))
+              AS s(id, state_bin, status, score, move_count, board_size, player_id, created_at)
+        ON t.id = s.id
+        WHEN MATCHED THEN UPDATE SET
+            state_bin = s.state_bin, state_data = NULL, status = s.status, score = s.score,
+            move_count = s.move_count, board_size = s.board_size,
+            player_id = COALESCE(s.player_id, t.player_id), updated_at = CURRENT_TIMESTAMP,
+            version = t.version + 1
+        WHEN NOT MATCHED THEN INSERT
+            (id, state_bin, status, score, move_count, board_size, player_id, created_at, updated_at, version)
+            VALUES (s.id, s.state_bin, s.status, s.score, s.move_count, s.board_size, s.player_id,
+                    s.created_at, CURRENT_TIMESTAMP, 1)
+        """;
+    // Guardado de una partida leída con versión: solo si nadie la cambió desde entonces
+    private static final String CONDITIONAL_UPDATE_SQL = """
+        UPDATE game_state SET
+            state_bin = ?, state_data = NULL, status = ?, score = ?, move_count = ?, board_size = ?,
+            player_id = COALESCE(?, player_id), updated_at = CURRENT_TIMESTAMP, version = version + 1
+        WHERE id = ? AND version = ?
+        """;
+    private static final String SELECT_COLUMNS = "id, state_bin, state_data, player_id, created_at, version";
+    // Filas con las columnas derivadas cargadas: las únicas que se filtran en SQL
+    private static final String INDEXED_ROWS = "status IS NOT NULL";
+    private static final int BATCH_SIZE = 500;
+    
+    // Pool de conexiones acotado (HikariCP); ver H2PoolSettings para la configuración
+    private final HikariDataSource dataSource;
+    private final PoolWaitMetrics poolMetrics = new PoolWaitMetrics();
+    private final int fetchSize;
+    // Unidad de trabajo de executeInTransaction activa en este hilo (null fuera de una)
+    private final ThreadLocal<UnitOfWork> currentWork = new ThreadLocal<>();
     
     public H2GameRepository() {
+        this(H2PoolSettings.fromSystemProperties());
+    }
+    
+    public H2GameRepository(H2PoolSettings settings) {
+        this.dataSource = createDataSource(settings);
+        this.fetchSize = settings.getFetchSize();
         try {
-            connection = DriverManager.getConnection(DB_URL, USER, PASSWORD);
             createSchema();
         } catch (SQLException e) {
+            dataSource.close();
             throw new RuntimeException("Error inicializando base de datos H2 en memoria", e);
         }
     }
@@ -63,39 +115,35 @@ public class H2GameRepository extends DataRepository<HexGameState, String> {
         // Llamar hook antes de guardar (si tienes definido)
         beforeSave(entity);
 
-        String serializedData = serializeGameState(entity);
-
-        try (Connection conn = DriverManager.getConnection(DB_URL, USER, PASSWORD)) {
-            // Primero verificar si existe registro con ese ID
-            String checkSql = "SELECT COUNT(*) FROM game_state WHERE id = ?";
-            try (PreparedStatement checkStmt = conn.prepareStatement(checkSql)) {
-                checkStmt.setString(1, entity.getGameId());
-                try (ResultSet rs = checkStmt.executeQuery()) {
-                    boolean exists = false;
-                    if (rs.next()) {
-                        exists = rs.getInt(1) > 0;
-                    }
+        UnitOfWork work = currentWork.get();
+        if (work != null) {
+            // Dentro de una transacción: se escribe en lote antes de la próxima
+            // consulta o al confirmar
+            work.pendingWrites.put(entity.getGameId(), entity);
+            afterSave(entity);
+            return entity;
+        }
 
-                    if (exists) {
-                        // Hacer UPDATE
-                        String updateSql = "UPDATE game_state SET state_data = ? WHERE id = ?";
-                        try (PreparedStatement updateStmt = conn.prepareStatement(updateSql)) {
-                            updateStmt.setString(1, serializedData);
-                            updateStmt.setString(2, entity.getGameId());
-                            updateStmt.executeUpdate();
-                        }
-                    } else {
-                        // Hacer INSERT
-                        String insertSql = "INSERT INTO game_state (id, state_data) VALUES (?, ?)";
-                        try (PreparedStatement insertStmt = conn.prepareStatement(insertSql)) {
-                            insertStmt.setString(1, entity.getGameId());
-                            insertStmt.setString(2, serializedData);
-                            insertStmt.executeUpdate();
-                        }
+        // Una sola sentencia: UPDATE condicionado a la versión leída o, sin
+        // versión, MERGE que devuelve la versión nueva
+        try (Connection conn = getConnection()) {
+            if (entity.getVersion() > 0) {
+                try (PreparedStatement ps = conn.prepareStatement(CONDITIONAL_UPDATE_SQL)) {
+                    bindConditionalUpdate(ps, entity);
+                    if (ps.executeUpdate() == 0) {
+                        throw new GameVersionConflictException(List.of(entity.getGameId()));
+                    }
+                }
+                entity.setVersion(entity.getVersion() + 1);
+            } else {
+                try (PreparedStatement ps = conn.prepareStatement("SELECT version FROM FINAL TABLE (" + UPSERT_SQL + ")")) {
+                    bindUpsert(ps, entity);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        rs.next();
+                        entity.setVersion(rs.getLong(1));
                     }
                 }
             }
-
         } catch (SQLException e) {
             throw new RuntimeException("Error guardando HexGameState en BD", e);
         }
@@ -106,20 +154,146 @@ public class H2GameRepository extends DataRepository<HexGameState, String> {
         return entity;
     }
 
+    /**
+     * Guarda varias partidas con batching JDBC dentro de una sola transacción:
+     * o se guardan todas o ninguna.
+     */
+    public List<HexGameState> saveAll(Collection<HexGameState> entities) {
+        if (entities == null) {
+            throw new IllegalArgumentException("La colección no puede ser nula");
+        }
+        for (HexGameState entity : entities) {
+            if (entity == null || entity.getGameId() == null) {
+                throw new IllegalArgumentException("Entidad o ID no puede ser nulo");
+            }
+        }
+        if (entities.isEmpty()) {
+            return List.of();
+        }
+
+        entities.forEach(this::beforeSave);
+
+        UnitOfWork work = currentWork.get();
+        if (work != null) {
+            entities.forEach(entity -> work.pendingWrites.put(entity.getGameId(), entity));
+        } else {
+            try (Connection conn = getConnection()) {
+                conn.setAutoCommit(false);
+                try {
+                    Map<HexGameState, Long> versions = writeBatch(conn, entities);
+                    conn.commit();
+                    // Recién confirmado: si se revierte, las partidas conservan su versión
+                    versions.forEach(HexGameState::setVersion);
+                } catch (SQLException | RuntimeException e) {
+                    conn.rollback();
+                    throw e;
+                } finally {
+                    conn.setAutoCommit(true);
+                }
+            } catch (SQLException e) {
+                throw new RuntimeException("Error guardando lote de HexGameState en BD", e);
+            }
+        }
+
+        entities.forEach(this::afterSave);
+        return new ArrayList<>(entities);
+    }
+
+    /**
+     * Escribe en lotes de BATCH_SIZE sobre conn; el llamador maneja la
+     * transacción. Las partidas con versión van por UPDATE condicional y las
+     * demás por MERGE. Si un id aparece más de una vez se escribe la última.
+     *
+     * No cambia las partidas: devuelve la versión nueva de cada una para que
+     * el llamador la asigne después de confirmar. Si alguna partida tenía una
+     * versión vieja lanza GameVersionConflictException con todos los ids en
+     * conflicto (el llamador debe revertir).
+     */
+    private Map<HexGameState, Long> writeBatch(Connection conn, Collection<HexGameState> entities) throws SQLException {
+        Map<String, HexGameState> byId = new LinkedHashMap<>();
+        for (HexGameState entity : entities) {
+            byId.put(entity.getGameId(), entity);
+        }
+        List<HexGameState> unique = new ArrayList<>(byId.values());
+        Map<HexGameState, Long> versions = new IdentityHashMap<>();
+        List<String> conflicts = new ArrayList<>();
+
+        try (PreparedStatement upsert = conn.prepareStatement(UPSERT_SQL);
+             PreparedStatement update = conn.prepareStatement(CONDITIONAL_UPDATE_SQL)) {
+            for (int start = 0; start < unique.size(); start += BATCH_SIZE) {
+                List<HexGameState> unversioned = new ArrayList<>();
+                List<HexGameState> versioned = new ArrayList<>();
+                for (HexGameState entity : unique.subList(start, Math.min(start + BATCH_SIZE, unique.size()))) {
+                    if (entity.getVersion() > 0) {
+                        bindConditionalUpdate(update, entity);
+                        update.addBatch();
+                        versioned.add(entity);
+                    } else {
+                        bindUpsert(upsert, entity);
+                        upsert.addBatch();
+                        unversioned.add(entity);
+                    }
+                }
+                if (!versioned.isEmpty()) {
+                    int[] counts = update.executeBatch();
+                    for (int i = 0; i < counts.length; i++) {
+                        HexGameState entity = versioned.get(i);
+                        if (counts[i] == 0) {
+                            conflicts.add(entity.getGameId());
+                        } else {
+                            versions.put(entity, entity.getVersion() + 1);
+                        }
+                    }
+                }
+                if (!unversioned.isEmpty()) {
+                    upsert.executeBatch();
+                    readVersions(conn, unversioned, versions);
+                }
+            }
+        }
+
+        if (!conflicts.isEmpty()) {
+            throw new GameVersionConflictException(conflicts);
+        }
+        return versions;
+    }
+
+    /**
+     * Versión que quedó en la base para partidas escritas con MERGE (un
+     * SELECT por lote, dentro de la misma transacción).
+     */
+    private void readVersions(Connection conn, List<HexGameState> written, Map<HexGameState, Long> versions) throws SQLException {
+        Map<String, HexGameState> byId = new HashMap<>();
+        for (HexGameState entity : written) {
+            byId.put(entity.getGameId(), entity);
+        }
+        try (PreparedStatement ps = conn.prepareStatement("SELECT id, version FROM game_state WHERE id = ANY(?)")) {
+            ps.setObject(1, byId.keySet().toArray(new String[0]));
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    versions.put(byId.get(rs.getString(1)), rs.getLong(2));
+                }
+            }
+        }
+    }
+
     @Override
     public Optional<HexGameState> findById(String id) {
-        String sql = "SELECT state_data FROM game_state WHERE id = ?";
+        UnitOfWork work = currentWork.get();
+        if (work != null && work.pendingWrites.containsKey(id)) {
+            return Optional.of(work.pendingWrites.get(id));
+        }
+        String sql = "SELECT " + SELECT_COLUMNS + " FROM game_state WHERE id = ?";
     
-        try (Connection conn = DriverManager.getConnection(DB_URL, USER, PASSWORD);
+        // Las escrituras pendientes de otras partidas no afectan esta fila
+        try (Connection conn = getConnection(false);
              PreparedStatement ps = conn.prepareStatement(sql)) {
     
             ps.setString(1, id);
     
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) {
-                    String serializedData = rs.getString("state_data");
-                    HexGameState gameState = deserializeGameState(serializedData, id);
-                    return Optional.of(gameState);
+                    return Optional.of(readGameState(rs));
                 } else {
                     return Optional.empty();
                 }
@@ -133,18 +307,15 @@ public class H2GameRepository extends DataRepository<HexGameState, String> {
     
     @Override
     public List<HexGameState> findAll() {
-        String sql = "SELECT id, state_data FROM game_state";
+        String sql = "SELECT " + SELECT_COLUMNS + " FROM game_state";
         List<HexGameState> results = new ArrayList<>();
 
-        try (Connection conn = DriverManager.getConnection(DB_URL, USER, PASSWORD);
+        try (Connection conn = getConnection();
             PreparedStatement ps = conn.prepareStatement(sql);
             ResultSet rs = ps.executeQuery()) {
 
             while (rs.next()) {
-                String id = rs.getString("id");
-                String serializedData = rs.getString("state_data");
-                HexGameState gameState = deserializeGameState(serializedData, id);
-                results.add(gameState);
+                results.add(readGameState(rs));
             }
 
         } catch (SQLException e) {
@@ -157,50 +328,66 @@ public class H2GameRepository extends DataRepository<HexGameState, String> {
     
     @Override
     public List<HexGameState> findWhere(Predicate<HexGameState> condition) {
-        List<HexGameState> allStates = findAll();
-        List<HexGameState> filtered = new ArrayList<>();
-    
-        for (HexGameState state : allStates) {
-            if (condition.test(state)) {
-                filtered.add(state);
-            }
+        List<Object> parameters = new ArrayList<>();
+        String where = predicateToSql(condition, parameters);
+        if (where != null) {
+            List<HexGameState> filtered = queryStates(INDEXED_ROWS + " AND (" + where + ")", parameters);
+            filtered.addAll(findUnindexedRows(condition));
+            return filtered;
+        }
+
+        // Predicate arbitrario: se evalúa en memoria fila por fila, sin
+        // cargar antes todas las partidas
+        try (Stream<HexGameState> states = streamAll()) {
+            return states.filter(condition).collect(Collectors.toCollection(ArrayList::new));
         }
-    
-        return filtered;
     }    
     
     @Override
     public <R> List<R> findAndTransform(Predicate<HexGameState> condition, Function<HexGameState, R> transformer) {
-        List<HexGameState> allStates = findAll();
-        List<R> transformed = new ArrayList<>();
-    
-        for (HexGameState state : allStates) {
-            if (condition.test(state)) {
-                transformed.add(transformer.apply(state));
-            }
+        try (Stream<HexGameState> states = streamWhere(condition)) {
+            return states.map(transformer).collect(Collectors.toCollection(ArrayList::new));
         }
-    
-        return transformed;
     }    
     
     @Override
     public long countWhere(Predicate<HexGameState> condition) {
-        List<HexGameState> allStates = findAll();
-        return allStates.stream()
-                        .filter(condition)
-                        .count();
+        List<Object> parameters = new ArrayList<>();
+        String where = predicateToSql(condition, parameters);
+        if (where != null) {
+            String sql = "SELECT COUNT(*) FROM game_state WHERE " + INDEXED_ROWS + " AND (" + where + ")";
+            long count;
+            try (Connection conn = getConnection();
+                 PreparedStatement ps = conn.prepareStatement(sql)) {
+                bindParameters(ps, parameters);
+                try (ResultSet rs = ps.executeQuery()) {
+                    rs.next();
+                    count = rs.getLong(1);
+                }
+            } catch (SQLException e) {
+                throw new RuntimeException("Error contando HexGameState", e);
+            }
+            // Fuera del try: no pedir una segunda conexión mientras se tiene la primera
+            return count + findUnindexedRows(condition).size();
+        }
+
+        try (Stream<HexGameState> states = streamAll()) {
+            return states.filter(condition).count();
+        }
     }    
     
     @Override
     public boolean deleteById(String id) {
+        UnitOfWork work = currentWork.get();
+        boolean discardedPending = work != null && work.pendingWrites.remove(id) != null;
         String sql = "DELETE FROM game_state WHERE id = ?";
     
-        try (Connection conn = DriverManager.getConnection(DB_URL, USER, PASSWORD);
+        try (Connection conn = getConnection(false);
              PreparedStatement ps = conn.prepareStatement(sql)) {
     
             ps.setString(1, id);
             int affectedRows = ps.executeUpdate();
-            return affectedRows > 0;
+            return affectedRows > 0 || discardedPending;
     
         } catch (SQLException e) {
             throw new RuntimeException("Error eliminando HexGameState por ID", e);
@@ -209,25 +396,78 @@ public class H2GameRepository extends DataRepository<HexGameState, String> {
     
     @Override
     public long deleteWhere(Predicate<HexGameState> condition) {
-        List<HexGameState> allStates = findAll();
-        long deletedCount = 0;
+        List<Object> parameters = new ArrayList<>();
+        String where = predicateToSql(condition, parameters);
+        if (where != null) {
+            // Un solo DELETE en SQL; las filas sin columnas indexadas se borran por id
+            long deletedCount = deleteByIds(findUnindexedRows(condition).stream()
+                    .map(HexGameState::getGameId)
+                    .toList());
+            String sql = "DELETE FROM game_state WHERE " + INDEXED_ROWS + " AND (" + where + ")";
+            try (Connection conn = getConnection();
+                 PreparedStatement ps = conn.prepareStatement(sql)) {
+                bindParameters(ps, parameters);
+                return deletedCount + ps.executeUpdate();
+            } catch (SQLException e) {
+                throw new RuntimeException("Error eliminando HexGameState", e);
+            }
+        }
+
+        // Predicate arbitrario: se juntan los ids recorriendo el cursor (el
+        // cursor se cierra antes de borrar) y se borran en lotes
+        List<String> ids;
+        try (Stream<HexGameState> states = streamAll()) {
+            ids = states.filter(condition).map(HexGameState::getGameId).toList();
+        }
+        return deleteByIds(ids);
+    }    
     
-        for (HexGameState state : allStates) {
-            if (condition.test(state)) {
-                boolean deleted = deleteById(state.getGameId()); // Usa getGameId() para obtener ID
-                if (deleted) {
-                    deletedCount++;
+    /**
+     * Borra las partidas dadas con DELETE en lotes de BATCH_SIZE, en una
+     * sola transacción. Devuelve cuántas filas se borraron.
+     */
+    private long deleteByIds(List<String> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        String sql = "DELETE FROM game_state WHERE id = ?";
+        long deletedCount = 0;
+
+        try (Connection conn = getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                for (int start = 0; start < ids.size(); start += BATCH_SIZE) {
+                    for (String id : ids.subList(start, Math.min(start + BATCH_SIZE, ids.size()))) {
+                        ps.setString(1, id);
+                        ps.addBatch();
+                    }
+                    for (int affected : ps.executeBatch()) {
+                        deletedCount += Math.max(affected, 0);
+                    }
                 }
+                conn.commit();
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
             }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error eliminando HexGameState", e);
         }
+
         return deletedCount;
-    }    
-    
+    }
+
     @Override
     public boolean existsById(String id) {
+        UnitOfWork work = currentWork.get();
+        if (work != null && work.pendingWrites.containsKey(id)) {
+            return true;
+        }
         String sql = "SELECT COUNT(*) FROM game_state WHERE id = ?";
     
-        try (Connection conn = DriverManager.getConnection(DB_URL, USER, PASSWORD);
+        try (Connection conn = getConnection(false);
              PreparedStatement ps = conn.prepareStatement(sql)) {
     
             ps.setString(1, id);
@@ -241,24 +481,62 @@ public class H2GameRepository extends DataRepository<HexGameState, String> {
             throw new RuntimeException("Error verificando existencia de HexGameState por ID", e);
         }
     }    
+
+    /**
+     * Versión actual de la fila, o vacío si la partida no existe. Es una
+     * lectura por clave primaria sin traer el estado: sirve para validar una
+     * copia en memoria antes de usarla.
+     */
+    public OptionalLong findVersion(String id) {
+        UnitOfWork work = currentWork.get();
+        if (work != null && work.pendingWrites.containsKey(id)) {
+            return OptionalLong.of(work.pendingWrites.get(id).getVersion());
+        }
+        try (Connection conn = getConnection(false);
+             PreparedStatement ps = conn.prepareStatement("SELECT version FROM game_state WHERE id = ?")) {
+            ps.setString(1, id);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? OptionalLong.of(rs.getLong(1)) : OptionalLong.empty();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error leyendo la versión de HexGameState", e);
+        }
+    }
     
+    /**
+     * Ejecuta operation como una sola transacción. Todas las llamadas al
+     * repositorio dentro de la operación (en este hilo) usan la misma
+     * conexión; save y saveAll no escriben enseguida sino que se acumulan
+     * (una escritura por partida, la última) y se envían en lote antes de la
+     * siguiente consulta o al confirmar. Si la operación lanza una excepción
+     * se revierte todo. Una llamada anidada se une a la transacción en curso.
+     */
     @Override
     public <R> R executeInTransaction(Function<DataRepository<HexGameState, String>, R> operation) {
-        try (Connection conn = DriverManager.getConnection(DB_URL, USER, PASSWORD)) {
+        if (currentWork.get() != null) {
+            return operation.apply(this);
+        }
+
+        try (Connection conn = dataSource.getConnection()) {
             conn.setAutoCommit(false);
+            UnitOfWork work = new UnitOfWork(conn);
+            currentWork.set(work);
             try {
                 // Ejecutar la operación
                 R result = operation.apply(this);
     
-                // Confirmar cambios
+                // Escribir lo pendiente y confirmar cambios
+                flushPendingWrites(work);
                 conn.commit();
                 return result;
-            } catch (Exception ex) {
+            } catch (SQLException | RuntimeException | Error ex) {
                 // En caso de error, revertir
                 conn.rollback();
+                work.originalVersions.forEach(HexGameState::setVersion);
                 throw ex;
             } finally {
-                // Restaurar auto commit por seguridad
+                currentWork.remove();
+                // Restaurar auto commit antes de devolver la conexión al pool
                 conn.setAutoCommit(true);
             }
         } catch (SQLException e) {
@@ -273,10 +551,10 @@ public class H2GameRepository extends DataRepository<HexGameState, String> {
         }
     
         int offset = (page - 1) * size;
-        String sql = "SELECT id, state_data FROM game_state ORDER BY id LIMIT ? OFFSET ?";
+        String sql = "SELECT " + SELECT_COLUMNS + " FROM game_state ORDER BY id LIMIT ? OFFSET ?";
         List<HexGameState> results = new ArrayList<>();
     
-        try (Connection conn = DriverManager.getConnection(DB_URL, USER, PASSWORD);
+        try (Connection conn = getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
     
             ps.setInt(1, size);
@@ -284,10 +562,7 @@ public class H2GameRepository extends DataRepository<HexGameState, String> {
     
             try (ResultSet rs = ps.executeQuery()) {
                 while (rs.next()) {
-                    String id = rs.getString("id");
-                    String serializedData = rs.getString("state_data");
-                    HexGameState gameState = deserializeGameState(serializedData, id);
-                    results.add(gameState);
+                    results.add(readGameState(rs));
                 }
             }
         } catch (SQLException e) {
@@ -297,7 +572,86 @@ public class H2GameRepository extends DataRepository<HexGameState, String> {
         return results;
     }    
     
-    @SuppressWarnings("unchecked")
+    /**
+     * Paginación por clave: la condición sobre (clave, id) del token usa el
+     * índice del campo (idx_game_state_score, idx_game_state_created o la
+     * clave primaria) y cada página cuesta lo mismo sin importar su
+     * profundidad. Por CREATED_AT y SCORE solo se listan las filas con
+     * columnas indexadas (ver migrateLegacyRows).
+     */
+    @Override
+    public Page<HexGameState> findPage(String afterKey, int size, GameSortField sortField) {
+        if (size < 1) {
+            throw new IllegalArgumentException("El tamaño de página debe ser mayor que 0");
+        }
+        PageToken after = PageToken.decode(afterKey, sortField);
+        String column = switch (sortField) {
+            case GAME_ID -> null;
+            case CREATED_AT -> "created_at";
+            case SCORE -> "score";
+        };
+
+        List<Object> parameters = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT " + SELECT_COLUMNS);
+        if (column == null) {
+            sql.append(" FROM game_state");
+            if (after != null) {
+                sql.append(" WHERE id > ?");
+                parameters.add(after.gameId());
+            }
+            sql.append(" ORDER BY id");
+        } else {
+            sql.append(", ").append(column).append(" AS sort_key FROM game_state WHERE ").append(INDEXED_ROWS);
+            if (after != null) {
+                // Descendente por clave y ascendente por id
+                sql.append(" AND (").append(column).append(" < ? OR (").append(column).append(" = ? AND id > ?))");
+                parameters.add(after.key());
+                parameters.add(after.key());
+                parameters.add(after.gameId());
+            }
+            sql.append(" ORDER BY ").append(column).append(" DESC, id");
+        }
+        // Una fila de más indica si hay página siguiente
+        sql.append(" LIMIT ?");
+        parameters.add(size + 1);
+
+        List<HexGameState> items = new ArrayList<>();
+        Comparable<?> lastKey = "";
+        try (Connection conn = getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql.toString())) {
+            bindParameters(ps, parameters);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    items.add(readGameState(rs));
+                    if (items.size() == size) {
+                        lastKey = column == null ? "" : sortKey(rs, sortField);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error obteniendo página de HexGameState", e);
+        }
+
+        if (items.size() <= size) {
+            return new Page<>(items, null);
+        }
+        HexGameState last = items.get(size - 1);
+        return new Page<>(items.subList(0, size), new PageToken(sortField, lastKey, last.getGameId()).encode());
+    }
+
+    /**
+     * Clave de orden tal como está en la columna, con la misma precisión con
+     * la que la compara el WHERE de la página siguiente.
+     */
+    private Comparable<?> sortKey(ResultSet rs, GameSortField sortField) throws SQLException {
+        return switch (sortField) {
+            case GAME_ID -> "";
+            case CREATED_AT -> rs.getObject("sort_key", LocalDateTime.class);
+            case SCORE -> rs.getInt("sort_key");
+        };
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
     @Override
     public List<HexGameState> findAllSorted(Function<HexGameState, ? extends Comparable<?>> sortKeyExtractor, boolean ascending) {
         List<HexGameState> allStates = findAll();
@@ -315,11 +669,238 @@ public class H2GameRepository extends DataRepository<HexGameState, String> {
         return allStates;
     }    
     
+    /**
+     * Recorre todas las partidas con un cursor de solo avance: las filas se
+     * piden de a fetch-size y cada partida se decodifica recién cuando el
+     * stream la consume, así que la memoria no crece con la cantidad de
+     * partidas (a diferencia de findAll).
+     *
+     * El stream mantiene una conexión del pool hasta agotarse o cerrarse:
+     * usarlo con try-with-resources.
+     */
+    public Stream<HexGameState> streamAll() {
+        return streamRows("SELECT " + SELECT_COLUMNS + " FROM game_state", List.of());
+    }
+
+    /**
+     * Como streamAll, pero solo las partidas que cumplen condition. Si es una
+     * GameQuery el filtro va en el WHERE; si no, se evalúa al recorrer.
+     */
+    public Stream<HexGameState> streamWhere(Predicate<HexGameState> condition) {
+        List<Object> parameters = new ArrayList<>();
+        String where = predicateToSql(condition, parameters);
+        if (where == null) {
+            return streamAll().filter(condition);
+        }
+        // Las filas sin columnas indexadas (pocas o ninguna) se agregan al final
+        Stream<HexGameState> indexed = streamRows(
+                "SELECT " + SELECT_COLUMNS + " FROM game_state WHERE " + INDEXED_ROWS + " AND (" + where + ")",
+                parameters);
+        return Stream.concat(indexed, Stream.of(condition).flatMap(c -> findUnindexedRows(c).stream()));
+    }
+
+    private Stream<HexGameState> streamRows(String sql, List<Object> parameters) {
+        Connection conn = null;
+        try {
+            // Dentro de una transacción la conexión es compartida: sin modo lazy
+            boolean lazy = currentWork.get() == null;
+            conn = getConnection();
+            RowCursor cursor = new RowCursor(conn, lazy);
+            cursor.open(sql, parameters);
+            return StreamSupport.stream(cursor, false)
+                    .onClose(cursor::close)
+                    .map(StoredRow::decode);
+        } catch (SQLException e) {
+            closeQuietly(conn);
+            throw new RuntimeException("Error abriendo cursor de HexGameState", e);
+        }
+    }
+
+    /**
+     * Fila sin decodificar: los bytes se convierten en partida solo cuando el
+     * stream la pide.
+     */
+    private record StoredRow(String id, byte[] binary, String json, String playerId,
+                             Timestamp createdAt, long version) {
+
+        HexGameState decode() {
+            HexGameState state = binary != null
+                    ? HexGameStateCodec.decode(id, binary)
+                    : deserializeLegacyJson(json, id);
+            if (playerId != null) {
+                state.setPlayerId(playerId);
+            }
+            if (createdAt != null) {
+                state.restoreCreatedAt(createdAt.toLocalDateTime());
+            }
+            state.setVersion(version);
+            return state;
+        }
+    }
+
+    /**
+     * Cursor JDBC de solo avance sobre una conexión propia. Activa
+     * LAZY_QUERY_EXECUTION en la sesión para que H2 embebido no arme el
+     * resultado completo antes de devolver la primera fila, y lo desactiva
+     * al cerrar, antes de devolver la conexión al pool. Se cierra solo al
+     * agotarse; si el stream se abandona antes, lo cierra onClose.
+     */
+    private final class RowCursor extends Spliterators.AbstractSpliterator<StoredRow> {
+        private final Connection connection;
+        private final boolean lazy;
+        private PreparedStatement statement;
+        private ResultSet resultSet;
+        private boolean closed;
+
+        RowCursor(Connection connection, boolean lazy) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.connection = connection;
+            this.lazy = lazy;
+        }
+
+        void open(String sql, List<Object> parameters) throws SQLException {
+            if (lazy) {
+                try (Statement stmt = connection.createStatement()) {
+                    stmt.execute("SET LAZY_QUERY_EXECUTION TRUE");
+                }
+            }
+            statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            bindParameters(statement, parameters);
+            resultSet = statement.executeQuery();
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super StoredRow> action) {
+            if (closed) {
+                return false;
+            }
+            try {
+                if (!resultSet.next()) {
+                    close();
+                    return false;
+                }
+                action.accept(new StoredRow(
+                        resultSet.getString("id"),
+                        resultSet.getBytes("state_bin"),
+                        resultSet.getString("state_data"),
+                        resultSet.getString("player_id"),
+                        resultSet.getTimestamp("created_at"),
+                        resultSet.getLong("version")));
+                return true;
+            } catch (SQLException e) {
+                close();
+                throw new RuntimeException("Error leyendo cursor de HexGameState", e);
+            }
+        }
+
+        void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                if (resultSet != null) {
+                    resultSet.close();
+                }
+                if (statement != null) {
+                    statement.close();
+                }
+                if (lazy) {
+                    try (Statement stmt = connection.createStatement()) {
+                        stmt.execute("SET LAZY_QUERY_EXECUTION FALSE");
+                    }
+                }
+            } catch (SQLException e) {
+                // La conexión se devuelve igual; Hikari la descarta si quedó rota
+            } finally {
+                closeQuietly(connection);
+            }
+        }
+    }
+
+    private static void closeQuietly(Connection conn) {
+        if (conn != null) {
+            try {
+                conn.close();
+            } catch (SQLException e) {
+                // Nada más que hacer: la conexión ya no se usa
+            }
+        }
+    }
+
+    @Override
+    public List<GameSummary> findTopScores(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("El límite no puede ser negativo");
+        }
+        if (limit == 0) {
+            return List.of();
+        }
+        // Recorre idx_game_state_score en orden; no deserializa tableros
+        String sql = """
+            SELECT id, player_id, status, score, move_count, board_size
+            FROM game_state
+            WHERE score IS NOT NULL
+            ORDER BY score DESC, id
+            LIMIT ?
+        """;
+        List<GameSummary> results = new ArrayList<>();
+
+        try (Connection conn = getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, limit);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    results.add(new GameSummary(
+                            rs.getString("id"),
+                            rs.getString("player_id"),
+                            GameState.GameStatus.valueOf(rs.getString("status")),
+                            rs.getInt("score"),
+                            rs.getInt("move_count"),
+                            rs.getInt("board_size")));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error obteniendo ranking de puntuaciones", e);
+        }
+
+        return results;
+    }
+
+    @Override
+    public PlayerStatistics getPlayerStatistics(String playerId) {
+        String sql = """
+            SELECT COUNT(*) AS played,
+                   COUNT(CASE WHEN status = 'PLAYER_WON' THEN 1 END) AS won,
+                   AVG(CAST(score AS DOUBLE)) AS average_score,
+                   MAX(score) AS best_score
+            FROM game_state
+            WHERE player_id = ?
+        """;
+
+        try (Connection conn = getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, playerId);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return new PlayerStatistics(
+                        playerId,
+                        rs.getLong("played"),
+                        rs.getLong("won"),
+                        rs.getDouble("average_score"),
+                        rs.getInt("best_score"));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error obteniendo estadísticas del jugador", e);
+        }
+    }
+    
     @Override
     public <R> List<R> executeCustomQuery(String query, Function<Object, R> resultMapper) {
         List<R> results = new ArrayList<>();
     
-        try (Connection conn = DriverManager.getConnection(DB_URL, USER, PASSWORD);
+        try (Connection conn = getConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(query)) {
     
@@ -338,25 +919,8 @@ public class H2GameRepository extends DataRepository<HexGameState, String> {
     
     @Override
     protected void initialize() {
-        try (Connection conn = DriverManager.getConnection(DB_URL, USER, PASSWORD);
-             Statement stmt = conn.createStatement()) {
-    
-            // 1. Crear tabla game_state si no existe
-            String createTableSql = """
-                CREATE TABLE IF NOT EXISTS game_state (
-                    id VARCHAR(255) PRIMARY KEY,
-                    state_data CLOB NOT NULL
-                );
-            """;
-            stmt.execute(createTableSql);
-    
-            // 2. Crear índices si necesitas (opcional)
-            // Ejemplo: índice sobre id para acelerar búsquedas (ya es PK, así que no es necesario)
-    
-            // 3. Insertar datos de prueba si quieres (opcional)
-            // String insertTestSql = "INSERT INTO game_state (id, state_data) VALUES ('test', '{...}')";
-            // stmt.execute(insertTestSql);
-    
+        try {
+            createSchema();
         } catch (SQLException e) {
             throw new RuntimeException("Error inicializando base de datos", e);
         }
@@ -364,22 +928,56 @@ public class H2GameRepository extends DataRepository<HexGameState, String> {
     
     @Override
     protected void cleanup() {
-        // Si usas conexión por campo, ciérrala aquí
-        if (connection != null) {
-            try {
-                if (!connection.isClosed()) {
-                    connection.close();
+        // Cerrar el pool y todas sus conexiones
+        if (!dataSource.isClosed()) {
+            dataSource.close();
+        }
+    }    
+    
+    /**
+     * Cierra el pool de conexiones. El repositorio no se puede usar después.
+     */
+    @Override
+    public void close() {
+        cleanup();
+    }
+    
+    /**
+     * Métricas del pool: adquisiciones, espera promedio y máxima por una
+     * conexión, esperas vencidas y conexiones activas/ociosas/pendientes.
+     */
+    public Map<String, Object> getPoolStatistics() {
+        return poolMetrics.snapshot();
+    }
+    
+    /**
+     * Reescribe en formato binario las filas que solo tienen JSON heredado o
+     * a las que les faltan las columnas indexadas, en lotes de BATCH_SIZE.
+     * Devuelve cuántas filas se migraron. Las filas viejas se siguen leyendo y
+     * cada save las migra, pero hasta entonces no aparecen en las consultas
+     * por columnas (ranking, estadísticas).
+     */
+    public int migrateLegacyRows() {
+        String sql = "SELECT " + SELECT_COLUMNS + " FROM game_state WHERE state_bin IS NULL OR status IS NULL LIMIT " + BATCH_SIZE;
+        int migrated = 0;
+        while (true) {
+            List<HexGameState> batch = new ArrayList<>();
+            try (Connection conn = getConnection();
+                 PreparedStatement ps = conn.prepareStatement(sql);
+                 ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    batch.add(readGameState(rs));
                 }
             } catch (SQLException e) {
-                // Puedes loguear el error o lanzar runtime
-                System.err.println("Error cerrando conexión: " + e.getMessage());
+                throw new RuntimeException("Error migrando filas JSON", e);
+            }
+            if (batch.isEmpty()) {
+                return migrated;
             }
+            saveAll(batch);
+            migrated += batch.size();
         }
-    
-        // Si tienes cachés o pools, límpialos aquí
-    
-        // Otros recursos que debas liberar
-    }    
+    }
     
     // Métodos auxiliares que los estudiantes pueden implementar
     
@@ -388,40 +986,302 @@ public class H2GameRepository extends DataRepository<HexGameState, String> {
      * Definir tablas, columnas, tipos de datos, restricciones.
      */
     private void createSchema() throws SQLException {
+        // state_bin: formato binario de HexGameStateCodec
+        // state_data: JSON de versiones anteriores, solo se lee (ver migrateLegacyRows)
         String sql = """
             CREATE TABLE IF NOT EXISTS game_state (
                 id VARCHAR(255) PRIMARY KEY,
-                state_data CLOB NOT NULL
+                state_data CLOB,
+                state_bin BLOB,
+                status VARCHAR(20),
+                score INT,
+                move_count INT,
+                board_size INT,
+                player_id VARCHAR(255),
+                created_at TIMESTAMP,
+                updated_at TIMESTAMP,
+                version BIGINT DEFAULT 0 NOT NULL
             );
         """;
-        try (Statement stmt = connection.createStatement()) {
+        try (Connection conn = getConnection();
+             Statement stmt = conn.createStatement()) {
             stmt.execute(sql);
+            // Tablas creadas por versiones anteriores (solo state_data NOT NULL)
+            stmt.execute("ALTER TABLE game_state ADD COLUMN IF NOT EXISTS state_bin BLOB");
+            stmt.execute("ALTER TABLE game_state ALTER COLUMN state_data SET NULL");
+            stmt.execute("ALTER TABLE game_state ADD COLUMN IF NOT EXISTS status VARCHAR(20)");
+            stmt.execute("ALTER TABLE game_state ADD COLUMN IF NOT EXISTS score INT");
+            stmt.execute("ALTER TABLE game_state ADD COLUMN IF NOT EXISTS move_count INT");
+            stmt.execute("ALTER TABLE game_state ADD COLUMN IF NOT EXISTS board_size INT");
+            stmt.execute("ALTER TABLE game_state ADD COLUMN IF NOT EXISTS player_id VARCHAR(255)");
+            stmt.execute("ALTER TABLE game_state ADD COLUMN IF NOT EXISTS created_at TIMESTAMP");
+            stmt.execute("ALTER TABLE game_state ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP");
+            stmt.execute("ALTER TABLE game_state ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL");
+            // Índices para ranking, estadísticas por jugador y filtros por estado
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_game_state_score ON game_state (score DESC, id)");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_game_state_player ON game_state (player_id, status)");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_game_state_status ON game_state (status)");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_game_state_updated ON game_state (updated_at)");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_game_state_created ON game_state (created_at DESC, id)");
         }
     }
     
+    private HikariDataSource createDataSource(H2PoolSettings settings) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("atraparalagato-h2");
+        config.setJdbcUrl(settings.getJdbcUrl());
+        config.setUsername(settings.getUser());
+        config.setPassword(settings.getPassword());
+        config.setMaximumPoolSize(settings.getMaxPoolSize());
+        // Las conexiones por encima de minIdle se cierran tras idleTimeout sin uso
+        config.setMinimumIdle(settings.getMinIdle());
+        config.setIdleTimeout(settings.getIdleTimeoutMs());
+        config.setConnectionTimeout(settings.getConnectionTimeoutMs());
+        // Validación con Connection.isValid() al entregar conexiones ociosas
+        config.setValidationTimeout(settings.getValidationTimeoutMs());
+        config.setMetricsTrackerFactory(poolMetrics);
+        return new HikariDataSource(config);
+    }
+    
+    /**
+     * Conexión para una operación. Dentro de executeInTransaction es la de
+     * la transacción (cerrarla no hace nada) y antes se escriben las
+     * partidas pendientes, para que la consulta las vea.
+     */
+    private Connection getConnection() throws SQLException {
+        return getConnection(true);
+    }
 
-    private String serializeGameState(HexGameState gameState) {
-        try {
-            return objectMapper.writeValueAsString(gameState);
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException("Error serializando HexGameState", e);
+    private Connection getConnection(boolean flushPending) throws SQLException {
+        UnitOfWork work = currentWork.get();
+        if (work == null) {
+            return dataSource.getConnection();
+        }
+        if (flushPending) {
+            flushPendingWrites(work);
+        }
+        return work.sharedConnection;
+    }
+
+    private void flushPendingWrites(UnitOfWork work) throws SQLException {
+        if (!work.pendingWrites.isEmpty()) {
+            Map<HexGameState, Long> versions = writeBatch(work.connection, work.pendingWrites.values());
+            work.pendingWrites.clear();
+            // Se asignan ya, para que un segundo save en la misma transacción
+            // compare contra la versión recién escrita; si se revierte, se restauran
+            versions.forEach((entity, version) -> {
+                work.originalVersions.putIfAbsent(entity, entity.getVersion());
+                entity.setVersion(version);
+            });
         }
     }
 
-    private HexGameState deserializeGameState(String serializedData, String gameId) {
+    /**
+     * Estado de una transacción de executeInTransaction: su conexión y las
+     * partidas guardadas que todavía no se escribieron (por id, en orden).
+     */
+    private static final class UnitOfWork {
+        final Connection connection;
+        // La misma conexión para los métodos del repositorio: ignora close y
+        // el manejo de transacción propio (commit, rollback, setAutoCommit),
+        // que queda a cargo de executeInTransaction
+        final Connection sharedConnection;
+        final Map<String, HexGameState> pendingWrites = new LinkedHashMap<>();
+        // Versión de cada partida antes de la transacción, para restaurarla al revertir
+        final Map<HexGameState, Long> originalVersions = new IdentityHashMap<>();
+
+        UnitOfWork(Connection connection) {
+            this.connection = connection;
+            this.sharedConnection = (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[] {Connection.class},
+                    (proxy, method, args) -> {
+                        String name = method.getName();
+                        boolean noArgs = args == null || args.length == 0;
+                        if (name.equals("close") || name.equals("setAutoCommit")
+                                || (noArgs && (name.equals("commit") || name.equals("rollback")))) {
+                            return null;
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+    
+
+    private byte[] serializeGameState(HexGameState gameState) {
+        return HexGameStateCodec.encode(gameState);
+    }
+
+    /**
+     * Parámetros de UPSERT_SQL: estado binario y columnas derivadas.
+     */
+    private void bindUpsert(PreparedStatement ps, HexGameState entity) throws SQLException {
+        ps.setString(1, entity.getGameId());
+        ps.setBytes(2, serializeGameState(entity));
+        ps.setString(3, entity.getStatus().name());
+        ps.setInt(4, entity.calculateScore());
+        ps.setInt(5, entity.getMoveCount());
+        ps.setInt(6, entity.getBoardSize());
+        ps.setString(7, entity.getPlayerId());
+        ps.setTimestamp(8, Timestamp.valueOf(entity.getCreatedAt()));
+    }
+
+    /**
+     * Parámetros de CONDITIONAL_UPDATE_SQL.
+     */
+    private void bindConditionalUpdate(PreparedStatement ps, HexGameState entity) throws SQLException {
+        ps.setBytes(1, serializeGameState(entity));
+        ps.setString(2, entity.getStatus().name());
+        ps.setInt(3, entity.calculateScore());
+        ps.setInt(4, entity.getMoveCount());
+        ps.setInt(5, entity.getBoardSize());
+        ps.setString(6, entity.getPlayerId());
+        ps.setString(7, entity.getGameId());
+        ps.setLong(8, entity.getVersion());
+    }
+
+    /**
+     * Lee una fila con las columnas SELECT_COLUMNS. Las filas escritas
+     * antes del formato binario solo tienen el JSON en state_data.
+     */
+    private HexGameState readGameState(ResultSet rs) throws SQLException {
+        return new StoredRow(
+                rs.getString("id"),
+                rs.getBytes("state_bin"),
+                rs.getString("state_data"),
+                rs.getString("player_id"),
+                rs.getTimestamp("created_at"),
+                rs.getLong("version")).decode();
+    }
+
+    /**
+     * JSON de getSerializableState() guardado por versiones anteriores.
+     */
+    private static HexGameState deserializeLegacyJson(String serializedData, String gameId) {
         try {
-            return objectMapper.readValue(serializedData, HexGameState.class);
-        } catch (Exception e) {
+            return HexGameStateJsonReader.read(gameId, serializedData);
+        } catch (RuntimeException e) {
             throw new RuntimeException("Error deserializando HexGameState", e);
         }
     }
     
-    
     /**
-     * TODO: Convertir Predicate a cláusula WHERE SQL.
-     * Implementación avanzada opcional.
+     * Convierte una GameQuery en una condición WHERE con parámetros '?',
+     * agregando los valores a parameters en orden. Devuelve null si el
+     * Predicate no es una GameQuery (lambda): el llamador lo evalúa en memoria.
+     *
+     * Las columnas numéricas y status nunca son NULL en las filas indexadas;
+     * player_id sí, y se compara de forma que NOT dé el mismo resultado que
+     * en memoria (sin el tercer valor UNKNOWN de SQL).
      */
-    private String predicateToSql(Predicate<HexGameState> predicate) {
-        throw new UnsupportedOperationException("Método auxiliar avanzado para implementar");
+    private String predicateToSql(Predicate<HexGameState> predicate, List<Object> parameters) {
+        if (!(predicate instanceof GameQuery query)) {
+            return null;
+        }
+        StringBuilder sql = new StringBuilder();
+        appendSql(query, sql, parameters);
+        return sql.toString();
+    }
+
+    private void appendSql(GameQuery query, StringBuilder sql, List<Object> parameters) {
+        if (query instanceof GameQuery.Comparison comparison) {
+            appendComparison(comparison, sql, parameters);
+        } else if (query instanceof GameQuery.All all) {
+            appendJoined(all.getQueries(), " AND ", sql, parameters);
+        } else if (query instanceof GameQuery.Any any) {
+            appendJoined(any.getQueries(), " OR ", sql, parameters);
+        } else if (query instanceof GameQuery.Not not) {
+            sql.append("NOT (");
+            appendSql(not.getQuery(), sql, parameters);
+            sql.append(')');
+        }
+    }
+
+    private void appendJoined(List<GameQuery> queries, String separator, StringBuilder sql, List<Object> parameters) {
+        sql.append('(');
+        for (int i = 0; i < queries.size(); i++) {
+            if (i > 0) {
+                sql.append(separator);
+            }
+            appendSql(queries.get(i), sql, parameters);
+        }
+        sql.append(')');
+    }
+
+    private void appendComparison(GameQuery.Comparison comparison, StringBuilder sql, List<Object> parameters) {
+        String column = switch (comparison.getField()) {
+            case GAME_ID -> "id";
+            case STATUS -> "status";
+            case BOARD_SIZE -> "board_size";
+            case MOVE_COUNT -> "move_count";
+            case SCORE -> "score";
+            case PLAYER_ID -> "player_id";
+        };
+        Object value = comparison.getValue();
+        if (value == null) {
+            sql.append(column).append(comparison.getOperator() == GameQuery.Operator.EQ ? " IS NULL" : " IS NOT NULL");
+            return;
+        }
+        String operator = switch (comparison.getOperator()) {
+            case EQ -> "=";
+            case NE -> "<>";
+            case LT -> "<";
+            case LTE -> "<=";
+            case GT -> ">";
+            case GTE -> ">=";
+        };
+        boolean nullable = comparison.getField() == GameQuery.Field.PLAYER_ID;
+        if (nullable && comparison.getOperator() == GameQuery.Operator.NE) {
+            sql.append('(').append(column).append(" IS NULL OR ").append(column).append(" <> ?)");
+        } else if (nullable) {
+            sql.append('(').append(column).append(" IS NOT NULL AND ").append(column).append(' ').append(operator).append(" ?)");
+        } else {
+            sql.append(column).append(' ').append(operator).append(" ?");
+        }
+        parameters.add(value instanceof GameState.GameStatus status ? status.name() : value);
+    }
+
+    private void bindParameters(PreparedStatement ps, List<Object> parameters) throws SQLException {
+        for (int i = 0; i < parameters.size(); i++) {
+            ps.setObject(i + 1, parameters.get(i));
+        }
+    }
+
+    private List<HexGameState> queryStates(String where, List<Object> parameters) {
+        String sql = "SELECT " + SELECT_COLUMNS + " FROM game_state WHERE " + where;
+        List<HexGameState> results = new ArrayList<>();
+
+        try (Connection conn = getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            bindParameters(ps, parameters);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    results.add(readGameState(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error consultando HexGameState", e);
+        }
+
+        return results;
+    }
+
+    /**
+     * Filas anteriores a las columnas indexadas (status NULL, ver
+     * migrateLegacyRows): no se pueden filtrar en SQL, así que se leen por
+     * el índice de status y se evalúan en memoria. Tras migrar, no hay ninguna.
+     */
+    private List<HexGameState> findUnindexedRows(Predicate<HexGameState> condition) {
+        List<HexGameState> matching = new ArrayList<>();
+        for (HexGameState state : queryStates("status IS NULL", List.of())) {
+            if (condition.test(state)) {
+                matching.add(state);
+            }
+        }
+        return matching;
     }
 } 
\ No newline at end of file
@@ -0,0 +1,142 @@
+package com.atraparalagato.impl.repository;
+
+import java.util.function.Function;
+
+/**
+ * Configuración del pool de conexiones de H2GameRepository.
+ *
+ * Se lee de propiedades con prefijo "game.h2." (application.properties o
+ * propiedades del sistema); cualquier propiedad ausente toma el valor por
+ * defecto:
+ *
+ *   game.h2.url                       URL JDBC (base en memoria del juego)
+ *   game.h2.user / game.h2.password   credenciales
+ *   game.h2.pool.max-size             conexiones máximas (10)
+ *   game.h2.pool.min-idle             conexiones ociosas mínimas (2)
+ *   game.h2.pool.idle-timeout-ms      tiempo ocioso antes de cerrar una conexión sobrante (60000)
+ *   game.h2.pool.connection-timeout-ms espera máxima por una conexión libre (5000)
+ *   game.h2.pool.validation-timeout-ms tiempo máximo para validar una conexión (1000)
+ *   game.h2.statement-cache-size      sentencias ya analizadas que H2 guarda por sesión (64)
+ *   game.h2.fetch-size                filas pedidas por vez en streamAll/streamWhere (500)
+ */
+public final class H2PoolSettings {
+
+    public static final String PREFIX = "game.h2.";
+
+    private static final String DEFAULT_URL = "jdbc:h2:mem:atraparalagato_db;DB_CLOSE_DELAY=-1";
+
+    private final String jdbcUrl;
+    private final String user;
+    private final String password;
+    private final int maxPoolSize;
+    private final int minIdle;
+    private final long idleTimeoutMs;
+    private final long connectionTimeoutMs;
+    private final long validationTimeoutMs;
+    private final int statementCacheSize;
+    private final int fetchSize;
+
+    private H2PoolSettings(Function<String, String> lookup) {
+        this.jdbcUrl = text(lookup, "url", DEFAULT_URL);
+        this.user = text(lookup, "user", "sa");
+        this.password = text(lookup, "password", "");
+        this.maxPoolSize = (int) number(lookup, "pool.max-size", 10);
+        this.minIdle = (int) Math.min(number(lookup, "pool.min-idle", 2), maxPoolSize);
+        this.idleTimeoutMs = number(lookup, "pool.idle-timeout-ms", 60_000);
+        this.connectionTimeoutMs = number(lookup, "pool.connection-timeout-ms", 5_000);
+        this.validationTimeoutMs = number(lookup, "pool.validation-timeout-ms", 1_000);
+        this.statementCacheSize = (int) number(lookup, "statement-cache-size", 64);
+        this.fetchSize = (int) number(lookup, "fetch-size", 500);
+        if (maxPoolSize < 1) {
+            throw new IllegalArgumentException("game.h2.pool.max-size debe ser mayor que 0");
+        }
+        if (fetchSize < 1) {
+            throw new IllegalArgumentException("game.h2.fetch-size debe ser mayor que 0");
+        }
+    }
+
+    /**
+     * Valores por defecto: la base H2 en memoria que ya usaba el repositorio.
+     */
+    public static H2PoolSettings defaults() {
+        return new H2PoolSettings(key -> null);
+    }
+
+    /**
+     * Lee la configuración con la función dada, que recibe la clave completa
+     * (p.ej. "game.h2.pool.max-size") y devuelve null si no está definida.
+     */
+    public static H2PoolSettings from(Function<String, String> lookup) {
+        return new H2PoolSettings(lookup);
+    }
+
+    public static H2PoolSettings fromSystemProperties() {
+        return new H2PoolSettings(System::getProperty);
+    }
+
+    /**
+     * URL efectiva: agrega QUERY_CACHE_SIZE, la caché de sentencias analizadas
+     * de cada sesión H2. No es un pool de PreparedStatement: el repositorio
+     * sigue creando uno por llamada, pero H2 reutiliza el comando ya analizado
+     * si el SQL coincide con uno reciente de la misma conexión.
+     */
+    public String getJdbcUrl() {
+        if (jdbcUrl.toUpperCase().contains("QUERY_CACHE_SIZE")) {
+            return jdbcUrl;
+        }
+        return jdbcUrl + ";QUERY_CACHE_SIZE=" + statementCacheSize;
+    }
+
+    public String getUser() {
+        return user;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public int getMaxPoolSize() {
+        return maxPoolSize;
+    }
+
+    public int getMinIdle() {
+        return minIdle;
+    }
+
+    public long getIdleTimeoutMs() {
+        return idleTimeoutMs;
+    }
+
+    public long getConnectionTimeoutMs() {
+        return connectionTimeoutMs;
+    }
+
+    public long getValidationTimeoutMs() {
+        return validationTimeoutMs;
+    }
+
+    public int getStatementCacheSize() {
+        return statementCacheSize;
+    }
+
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    private static String text(Function<String, String> lookup, String key, String defaultValue) {
+        String value = lookup.apply(PREFIX + key);
+        return value == null ? defaultValue : value;
+    }
+
+    private static long number(Function<String, String> lookup, String key, long defaultValue) {
+        String value = lookup.apply(PREFIX + key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor inválido para " + PREFIX + key + ": " + value, e);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.atraparalagato.impl.repository;
+
+import com.atraparalagato.base.model.GameState.GameStatus;
+import com.atraparalagato.impl.model.BitsetHexGameBoard;
+import com.atraparalagato.impl.model.HexBoardIndex;
+import com.atraparalagato.impl.model.HexGameState;
+import com.atraparalagato.impl.model.HexPosition;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Formato binario compacto y versionado para HexGameState (columna state_bin).
+ *
+ * Versión 2, big-endian (tableros de tamaño hasta MAX_BOARD_SIZE):
+ *
+ *   byte   versión del formato (2)
+ *   byte   tamaño del tablero
+ *   short  índice de la celda del gato (ver HexBoardIndex)
+ *   byte   estado (código estable, no el ordinal del enum) en los bits 0-6;
+ *          el bit 7 indica dificultad "hard"
+ *   int    cantidad de movimientos
+ *   short  n = palabras del bitset escritas (se omiten las finales en cero)
+ *   long*n celdas bloqueadas, bit i = celda i
+ *
+ * La versión 1 es igual pero sin el bit de dificultad: esas partidas se leen
+ * como "easy".
+ *
+ * Una partida de tamaño 10 ocupa como mucho 59 bytes; el id va en su propia
+ * columna. Para cambiar el formato se agrega una versión nueva y decode()
+ * sigue aceptando las anteriores.
+ */
+public final class HexGameStateCodec {
+
+    public static final byte FORMAT_VERSION = 2;
+
+    // El índice de celda debe caber en un short
+    public static final int MAX_BOARD_SIZE = 100;
+
+    private static final int HEADER_BYTES = 11;
+
+    private static final byte LEGACY_VERSION = 1;
+    // Bit del byte de estado que marca la dificultad "hard" (versión 2)
+    private static final int HARD_FLAG = 0x80;
+
+    // Códigos de estado persistidos: no dependen del orden del enum
+    private static final GameStatus[] STATUS_BY_CODE = {
+            GameStatus.IN_PROGRESS, GameStatus.PLAYER_WON, GameStatus.PLAYER_LOST, GameStatus.DRAW
+    };
+
+    private HexGameStateCodec() {
+    }
+
+    public static byte[] encode(HexGameState state) {
+        if (state.getBoardSize() > MAX_BOARD_SIZE) {
+            throw new IllegalArgumentException("Tablero demasiado grande para el formato binario: " + state.getBoardSize());
+        }
+        BitsetHexGameBoard board = (BitsetHexGameBoard) state.getGameBoard();
+        HexBoardIndex index = board.getIndex();
+        int catCell = index.indexOf(state.getCatPosition());
+        if (catCell < 0) {
+            throw new IllegalArgumentException("Gato fuera del tablero: " + state.getCatPosition());
+        }
+
+        long[] words = board.getBlockedWords();
+        int used = words.length;
+        while (used > 0 && words[used - 1] == 0L) {
+            used--;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + used * Long.BYTES);
+        buffer.put(FORMAT_VERSION);
+        buffer.put((byte) state.getBoardSize());
+        buffer.putShort((short) catCell);
+        boolean hard = HexGameState.DIFFICULTY_HARD.equals(state.getDifficulty());
+        buffer.put((byte) (statusCode(state.getStatus()) | (hard ? HARD_FLAG : 0)));
+        buffer.putInt(state.getMoveCount());
+        buffer.putShort((short) used);
+        for (int i = 0; i < used; i++) {
+            buffer.putLong(words[i]);
+        }
+        return buffer.array();
+    }
+
+    public static HexGameState decode(String gameId, byte[] data) {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        byte version = buffer.get();
+        if (version != FORMAT_VERSION && version != LEGACY_VERSION) {
+            throw new IllegalArgumentException("Versión de formato desconocida: " + version);
+        }
+        int boardSize = buffer.get();
+        int catCell = buffer.getShort();
+        int statusByte = buffer.get() & 0xFF;
+        boolean hard = version == FORMAT_VERSION && (statusByte & HARD_FLAG) != 0;
+        GameStatus status = statusFromCode((byte) (statusByte & ~HARD_FLAG));
+        int moveCount = buffer.getInt();
+        long[] words = new long[buffer.getShort()];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = buffer.getLong();
+        }
+
+        HexGameState state = new HexGameState(gameId, boardSize);
+        HexBoardIndex index = HexBoardIndex.forSize(boardSize);
+        if (catCell < 0 || catCell >= index.getCellCount()) {
+            throw new IllegalArgumentException("Celda del gato inválida: " + catCell);
+        }
+        HexPosition cat = index.positionAt(catCell);
+        state.restoreState(cat, status, moveCount, words);
+        if (hard) {
+            state.setDifficulty(HexGameState.DIFFICULTY_HARD);
+        }
+        return state;
+    }
+
+    private static byte statusCode(GameStatus status) {
+        for (int code = 0; code < STATUS_BY_CODE.length; code++) {
+            if (STATUS_BY_CODE[code] == status) {
+                return (byte) code;
+            }
+        }
+        throw new IllegalArgumentException("Estado sin código: " + status);
+    }
+
+    private static GameStatus statusFromCode(byte code) {
+        if (code < 0 || code >= STATUS_BY_CODE.length) {
+            throw new IllegalArgumentException("Código de estado inválido: " + code);
+        }
+        return STATUS_BY_CODE[code];
+    }
+}
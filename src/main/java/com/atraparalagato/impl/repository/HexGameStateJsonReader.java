@@ -0,0 +1,130 @@
+package com.atraparalagato.impl.repository;
+
+import com.atraparalagato.base.model.GameState.GameStatus;
+import com.atraparalagato.impl.model.HexBoardIndex;
+import com.atraparalagato.impl.model.HexGameState;
+import com.atraparalagato.impl.model.HexPosition;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Lector en streaming del JSON de HexGameState.getSerializableState().
+ *
+ * Recorre los tokens con un JsonParser de Jackson y arma el estado directo,
+ * sin Map intermedio ni binding por reflexión. Los campos pueden venir en
+ * cualquier orden (el JSON sale de un HashMap): las celdas bloqueadas se
+ * acumulan como pares q/r en un int[] y se traducen a bitset al final, cuando
+ * ya se conoce el tamaño del tablero. Los campos desconocidos se ignoran.
+ */
+public final class HexGameStateJsonReader {
+
+    // JsonFactory es thread-safe y costoso de crear: se comparte
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private HexGameStateJsonReader() {
+    }
+
+    /**
+     * Lee una partida completa. gameId es el id de la fila; el campo gameId
+     * del JSON, si está, se ignora.
+     */
+    public static HexGameState read(String gameId, String json) {
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            return read(gameId, parser);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("JSON de HexGameState inválido", e);
+        }
+    }
+
+    private static HexGameState read(String gameId, JsonParser parser) throws IOException {
+        expect(parser.nextToken(), JsonToken.START_OBJECT);
+
+        int boardSize = -1;
+        int catQ = 0;
+        int catR = 0;
+        GameStatus status = GameStatus.IN_PROGRESS;
+        int moveCount = 0;
+        String playerId = null;
+        String difficulty = HexGameState.DIFFICULTY_EASY;
+        int[] blocked = new int[16];
+        int blockedCount = 0;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "boardSize" -> boardSize = parser.getIntValue();
+                case "moveCount" -> moveCount = parser.getIntValue();
+                case "status" -> status = GameStatus.valueOf(parser.getText());
+                case "playerId" -> playerId = value == JsonToken.VALUE_NULL ? null : parser.getText();
+                case "difficulty" -> difficulty = value == JsonToken.VALUE_NULL ? difficulty : parser.getText();
+                case "catPosition" -> {
+                    long position = readPosition(parser, value);
+                    catQ = (int) (position >> 32);
+                    catR = (int) position;
+                }
+                case "blockedCells" -> {
+                    expect(value, JsonToken.START_ARRAY);
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        long position = readPosition(parser, parser.currentToken());
+                        if (blockedCount + 2 > blocked.length) {
+                            blocked = Arrays.copyOf(blocked, blocked.length * 2);
+                        }
+                        blocked[blockedCount++] = (int) (position >> 32);
+                        blocked[blockedCount++] = (int) position;
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+
+        if (boardSize < 1) {
+            throw new IllegalArgumentException("JSON de HexGameState sin boardSize");
+        }
+        HexBoardIndex index = HexBoardIndex.forSize(boardSize);
+        long[] words = new long[index.getWordCount()];
+        for (int i = 0; i < blockedCount; i += 2) {
+            int cell = index.indexOf(blocked[i], blocked[i + 1]);
+            if (cell < 0) {
+                throw new IllegalArgumentException("Celda bloqueada fuera del tablero: " + blocked[i] + "," + blocked[i + 1]);
+            }
+            words[cell >>> 6] |= 1L << cell;
+        }
+
+        HexGameState state = new HexGameState(gameId, boardSize);
+        state.restoreState(HexPosition.of(catQ, catR), status, moveCount, words);
+        state.setPlayerId(playerId);
+        state.setDifficulty(difficulty);
+        return state;
+    }
+
+    /**
+     * Lee un objeto {"q":..,"r":..} (ignora "s" y otros campos) y devuelve
+     * q en los 32 bits altos y r en los bajos, para no crear objetos.
+     */
+    private static long readPosition(JsonParser parser, JsonToken start) throws IOException {
+        expect(start, JsonToken.START_OBJECT);
+        int q = 0;
+        int r = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "q" -> q = parser.getIntValue();
+                case "r" -> r = parser.getIntValue();
+                default -> parser.skipChildren();
+            }
+        }
+        return ((long) q << 32) | (r & 0xFFFFFFFFL);
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new IOException("Se esperaba " + expected + " y se encontró " + actual);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.atraparalagato.impl.repository;
+
+/**
+ * Paginación por clave (keyset/seek): cada página sigue desde la posición
+ * del token anterior en lugar de saltar OFFSET filas, así que el costo no
+ * crece con la profundidad de la página y las inserciones o borrados entre
+ * páginas no repiten ni saltean elementos ya vistos.
+ */
+public interface KeysetPagination<T> {
+
+    /**
+     * Hasta size elementos ordenados por sortField (desempate por id) que
+     * van después de afterKey. afterKey es el nextToken de la página
+     * anterior, o null para la primera.
+     *
+     * @throws IllegalArgumentException si size es menor que 1 o el token es
+     *         inválido o de otro campo de orden
+     */
+    Page<T> findPage(String afterKey, int size, GameSortField sortField);
+}
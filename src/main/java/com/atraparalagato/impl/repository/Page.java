@@ -0,0 +1,18 @@
+package com.atraparalagato.impl.repository;
+
+import java.util.List;
+
+/**
+ * Una página de resultados de findPage. nextToken es null en la última
+ * página; si no, se pasa tal cual como afterKey para pedir la siguiente.
+ */
+public record Page<T>(List<T> items, String nextToken) {
+
+    public Page {
+        items = List.copyOf(items);
+    }
+
+    public boolean hasNext() {
+        return nextToken != null;
+    }
+}
@@ -0,0 +1,62 @@
+package com.atraparalagato.impl.repository;
+
+import com.atraparalagato.base.model.GameState;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Token de continuación de findPage: la posición (campo, clave, id) del
+ * último elemento devuelto, en Base64 URL. Para el cliente es opaco; solo
+ * sirve para pedir la página siguiente con el mismo campo de orden.
+ */
+public record PageToken(GameSortField sortField, Comparable<?> key, String gameId) {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    public static PageToken after(GameSortField sortField, GameState<?> last) {
+        return new PageToken(sortField, sortField.keyOf(last), last.getGameId());
+    }
+
+    public String encode() {
+        String raw = sortField.name() + '\n' + sortField.formatKey(key) + '\n' + gameId;
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica un token de findPage; null o vacío es "desde el principio"
+     * (devuelve null). Falla si el token es inválido o de otro campo de orden.
+     */
+    public static PageToken decode(String token, GameSortField expectedField) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        PageToken parsed;
+        try {
+            // El id va último: puede contener cualquier carácter
+            String[] parts = new String(DECODER.decode(token), StandardCharsets.UTF_8).split("\n", 3);
+            GameSortField field = GameSortField.valueOf(parts[0]);
+            parsed = new PageToken(field, field.parseKey(parts[1]), parts[2]);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Token de página inválido", e);
+        }
+        if (parsed.sortField() != expectedField) {
+            throw new IllegalArgumentException("El token de página es para el orden " + parsed.sortField() + ", no " + expectedField);
+        }
+        return parsed;
+    }
+
+    /**
+     * Arma la página a partir de hasta size + 1 elementos ya ordenados: el
+     * elemento extra solo indica que hay página siguiente.
+     */
+    public static <T extends GameState<?>> Page<T> toPage(List<T> fetched, int size, GameSortField sortField) {
+        if (fetched.size() <= size) {
+            return new Page<>(fetched, null);
+        }
+        List<T> items = fetched.subList(0, size);
+        return new Page<>(items, after(sortField, items.get(size - 1)).encode());
+    }
+}
@@ -0,0 +1,15 @@
+package com.atraparalagato.impl.repository;
+
+/**
+ * Estadísticas agregadas de un jugador.
+ */
+public record PlayerStatistics(String playerId,
+                               long gamesPlayed,
+                               long gamesWon,
+                               double averageScore,
+                               int bestScore) {
+
+    public double winRate() {
+        return gamesPlayed == 0 ? 0 : (double) gamesWon / gamesPlayed;
+    }
+}
@@ -0,0 +1,79 @@
+package com.atraparalagato.impl.repository;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Métricas del pool de conexiones de H2GameRepository.
+ *
+ * Hikari llama a este tracker cada vez que entrega una conexión (con el
+ * tiempo que el hilo esperó por ella) y cada vez que una espera vence.
+ * Los contadores son acumulativos y se pueden leer desde cualquier hilo.
+ */
+class PoolWaitMetrics implements MetricsTrackerFactory {
+
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder totalUsageMillis = new LongAdder();
+    private final LongAdder connectionsCreated = new LongAdder();
+
+    private volatile PoolStats poolStats;
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        this.poolStats = poolStats;
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                acquisitions.increment();
+                totalWaitNanos.add(elapsedAcquiredNanos);
+                maxWaitNanos.accumulateAndGet(elapsedAcquiredNanos, Math::max);
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                totalUsageMillis.add(elapsedBorrowedMillis);
+            }
+
+            @Override
+            public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+                connectionsCreated.increment();
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                timeouts.increment();
+            }
+        };
+    }
+
+    /**
+     * Instantánea de las métricas de espera y del estado actual del pool.
+     */
+    Map<String, Object> snapshot() {
+        long count = acquisitions.sum();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("acquisitions", count);
+        stats.put("averageWaitMicros", count == 0 ? 0.0 : totalWaitNanos.sum() / 1_000.0 / count);
+        stats.put("maxWaitMicros", maxWaitNanos.get() / 1_000.0);
+        stats.put("timeouts", timeouts.sum());
+        stats.put("averageUsageMillis", count == 0 ? 0.0 : (double) totalUsageMillis.sum() / count);
+        stats.put("connectionsCreated", connectionsCreated.sum());
+        PoolStats current = poolStats;
+        if (current != null) {
+            stats.put("activeConnections", current.getActiveConnections());
+            stats.put("idleConnections", current.getIdleConnections());
+            stats.put("totalConnections", current.getTotalConnections());
+            stats.put("pendingThreads", current.getPendingThreads());
+        }
+        return stats;
+    }
+}
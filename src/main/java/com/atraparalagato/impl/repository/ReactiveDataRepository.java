@@ -0,0 +1,95 @@
+package com.atraparalagato.impl.repository;
+
+import com.atraparalagato.base.repository.DataRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Vista no bloqueante de un DataRepository.
+ *
+ * Cada operación devuelve un Mono/Flux que, al suscribirse, ejecuta la llamada
+ * bloqueante del repositorio en un pool acotado (ReactiveSettings) en lugar
+ * del hilo que atiende el pedido. El pool tiene hilos y cola limitados: si se
+ * llena, la operación termina con RejectedExecutionException en vez de encolar
+ * trabajo sin límite.
+ *
+ * No cambia la semántica del repositorio: findById vacío da un Mono vacío y
+ * los errores del repositorio llegan como señal de error.
+ */
+public class ReactiveDataRepository<T, ID> implements AutoCloseable {
+
+    private final DataRepository<T, ID> delegate;
+    private final Scheduler offload;
+
+    public ReactiveDataRepository(DataRepository<T, ID> delegate, ReactiveSettings settings) {
+        this.delegate = delegate;
+        this.offload = Schedulers.newBoundedElastic(settings.getMaxThreads(), settings.getQueuePerThread(),
+                "game-offload", settings.getKeepAliveSeconds(), true);
+    }
+
+    public Mono<T> save(T entity) {
+        return offload(() -> delegate.save(entity));
+    }
+
+    public Mono<T> findById(ID id) {
+        return offload(() -> delegate.findById(id).orElse(null));
+    }
+
+    public Mono<Boolean> existsById(ID id) {
+        return offload(() -> delegate.existsById(id));
+    }
+
+    public Mono<Boolean> deleteById(ID id) {
+        return offload(() -> delegate.deleteById(id));
+    }
+
+    public Flux<T> findAll() {
+        return offload(delegate::findAll).flatMapIterable(Function.identity());
+    }
+
+    public Flux<T> findWhere(Predicate<T> condition) {
+        return offload(() -> delegate.findWhere(condition)).flatMapIterable(Function.identity());
+    }
+
+    public Mono<Long> countWhere(Predicate<T> condition) {
+        return offload(() -> delegate.countWhere(condition));
+    }
+
+    public Mono<Long> deleteWhere(Predicate<T> condition) {
+        return offload(() -> delegate.deleteWhere(condition));
+    }
+
+    public Flux<T> findWithPagination(int page, int size) {
+        return offload(() -> delegate.findWithPagination(page, size)).flatMapIterable(Function.identity());
+    }
+
+    /**
+     * Ejecuta operation como una transacción del repositorio, en el pool.
+     */
+    public <R> Mono<R> executeInTransaction(Function<DataRepository<T, ID>, R> operation) {
+        return offload(() -> delegate.executeInTransaction(operation));
+    }
+
+    /**
+     * Ejecuta en el pool cualquier trabajo bloqueante sobre este repositorio
+     * (p.ej. un método del servicio que lo usa). Un resultado null da un Mono
+     * vacío.
+     */
+    public <R> Mono<R> offload(Callable<R> blockingCall) {
+        return Mono.fromCallable(blockingCall).subscribeOn(offload);
+    }
+
+    /**
+     * Libera los hilos del pool; no cierra el repositorio envuelto.
+     */
+    @Override
+    public void close() {
+        offload.dispose();
+    }
+}
@@ -0,0 +1,74 @@
+package com.atraparalagato.impl.repository;
+
+import java.util.function.Function;
+
+/**
+ * Configuración del pool donde ReactiveDataRepository ejecuta las llamadas
+ * bloqueantes.
+ *
+ * Se lee de propiedades con prefijo "game.reactive." (application.properties o
+ * propiedades del sistema); cualquier propiedad ausente toma el valor por
+ * defecto:
+ *
+ *   game.reactive.offload.max-threads       hilos máximos del pool (20)
+ *   game.reactive.offload.queue-per-thread  tareas en espera por hilo; pasado ese
+ *                                           límite la tarea se rechaza (500)
+ *   game.reactive.offload.keep-alive-s      segundos ociosos antes de liberar un hilo (60)
+ */
+public final class ReactiveSettings {
+
+    public static final String PREFIX = "game.reactive.";
+
+    private final int maxThreads;
+    private final int queuePerThread;
+    private final int keepAliveSeconds;
+
+    private ReactiveSettings(Function<String, String> lookup) {
+        this.maxThreads = (int) number(lookup, "offload.max-threads", 20);
+        this.queuePerThread = (int) number(lookup, "offload.queue-per-thread", 500);
+        this.keepAliveSeconds = (int) number(lookup, "offload.keep-alive-s", 60);
+        if (maxThreads < 1 || queuePerThread < 1 || keepAliveSeconds < 1) {
+            throw new IllegalArgumentException("Los valores de " + PREFIX + "* deben ser mayores que 0");
+        }
+    }
+
+    public static ReactiveSettings defaults() {
+        return new ReactiveSettings(key -> null);
+    }
+
+    /**
+     * Lee la configuración con la función dada, que recibe la clave completa
+     * (p.ej. "game.reactive.offload.max-threads") y devuelve null si no está definida.
+     */
+    public static ReactiveSettings from(Function<String, String> lookup) {
+        return new ReactiveSettings(lookup);
+    }
+
+    public static ReactiveSettings fromSystemProperties() {
+        return new ReactiveSettings(System::getProperty);
+    }
+
+    public int getMaxThreads() {
+        return maxThreads;
+    }
+
+    public int getQueuePerThread() {
+        return queuePerThread;
+    }
+
+    public int getKeepAliveSeconds() {
+        return keepAliveSeconds;
+    }
+
+    private static long number(Function<String, String> lookup, String key, long defaultValue) {
+        String value = lookup.apply(PREFIX + key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor inválido para " + PREFIX + key + ": " + value, e);
+        }
+    }
+}
@@ -0,0 +1,749 @@
+package com.atraparalagato.impl.repository;
+
+import com.atraparalagato.base.repository.DataRepository;
+import com.atraparalagato.impl.model.HexGameState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Caché de partidas activas delante de H2GameRepository, con dos modos de
+ * escritura (game.cache.write-behind, ver WriteBehindSettings).
+ *
+ * Las partidas activas se mantienen en memoria (LRU acotado a maxEntries, con
+ * desalojo por inactividad después de ttl).
+ *
+ * Write-through (por defecto, seguro con varios procesos sobre la misma base):
+ * save escribe en H2 con el UPDATE condicionado a la versión de la partida
+ * antes de confirmar; si otro proceso la cambió, descarta la copia cacheada y
+ * lanza GameVersionConflictException para que el llamador relea y reintente.
+ * findById compara la versión cacheada con la de la fila (una lectura por
+ * clave primaria) y solo decodifica la copia en memoria si coinciden, así que
+ * nunca devuelve una partida que otro proceso ya cambió.
+ *
+ * Write-behind (solo si este proceso es el único que escribe la base):
+ * findById y save de una partida en curso no tocan la base de datos. save
+ * solo marca la partida como sucia: varios saves de la misma partida dentro
+ * de la ventana de durabilidad se combinan en una sola escritura. Un hilo de
+ * fondo escribe las partidas sucias en lotes con saveAll cada flushInterval
+ * (o antes, si se juntan flushBatchSize pendientes). Si aun así otro proceso
+ * cambió una partida, su versión gana y los cambios pendientes de esa
+ * partida se descartan.
+ *
+ * La caché no comparte instancias: save guarda una copia codificada e
+ * inmutable de la partida (HexGameStateCodec) y findById decodifica una
+ * partida nueva cada vez. Así un llamador que modifica su partida no cambia
+ * lo cacheado, y el hilo de fondo escribe exactamente lo que se guardó.
+ *
+ * Una partida sucia nunca se pierde por desalojo: pasa a un área de pendientes
+ * que se sigue leyendo hasta que se escribe. Las consultas sobre todo el
+ * repositorio (findAll, findWhere, countWhere, paginación, ...) escriben
+ * primero lo pendiente y luego se delegan en H2.
+ *
+ * Durabilidad en write-behind: los cambios de los últimos flushInterval ms
+ * pueden perderse si el proceso termina sin llamar a close().
+ */
+public class WriteBehindGameRepository extends DataRepository<HexGameState, String>
+        implements GameStatisticsQueries, KeysetPagination<HexGameState>, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindGameRepository.class);
+    private static final long ANY_VERSION = -1;
+
+    private final H2GameRepository store;
+    private final WriteBehindSettings settings;
+
+    // Todo el estado de la caché se protege con lock; la E/S con H2 va fuera
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, CacheEntry> entries;
+    private final Map<String, CacheEntry> evictedDirty = new HashMap<>();
+    private final Set<String> dirtyIds = new LinkedHashSet<>();
+
+    // Una sola escritura a la vez para no reordenar versiones de la misma partida
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final ScheduledExecutorService flusher;
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder saves = new LongAdder();
+    private final LongAdder writes = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder flushFailures = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+
+    /**
+     * Partida en caché. Está sucia mientras revision != persistedRevision
+     * (saves recibidos contra saves ya escritos). storeVersion es la versión
+     * de la fila en H2 sobre la que se hará la próxima escritura.
+     */
+    private static final class CacheEntry {
+        final String id;
+        Snapshot snapshot;
+        long storeVersion;
+        long revision;
+        long persistedRevision;
+        long lastAccessNanos;
+
+        CacheEntry(String id, Snapshot snapshot, long storeVersion, long revision, long now) {
+            this.id = id;
+            this.snapshot = snapshot;
+            this.storeVersion = storeVersion;
+            this.revision = revision;
+            this.persistedRevision = 0;
+            this.lastAccessNanos = now;
+        }
+
+        boolean isDirty() {
+            return revision != persistedRevision;
+        }
+
+        HexGameState toState() {
+            return snapshot.decode(id, storeVersion);
+        }
+    }
+
+    /**
+     * Copia inmutable de una partida: el binario del codec y lo que el codec
+     * no guarda. Se toma en save(), con la partida todavía en manos del
+     * llamador, y nunca se expone.
+     */
+    private record Snapshot(byte[] data, String playerId, LocalDateTime createdAt) {
+
+        static Snapshot of(HexGameState state) {
+            return new Snapshot(HexGameStateCodec.encode(state), state.getPlayerId(), state.getCreatedAt());
+        }
+
+        HexGameState decode(String id, long version) {
+            HexGameState state = HexGameStateCodec.decode(id, data);
+            if (playerId != null) {
+                state.setPlayerId(playerId);
+            }
+            state.restoreCreatedAt(createdAt);
+            state.setVersion(version);
+            return state;
+        }
+    }
+
+    public WriteBehindGameRepository(H2GameRepository store) {
+        this(store, WriteBehindSettings.fromSystemProperties());
+    }
+
+    public WriteBehindGameRepository(H2GameRepository store, WriteBehindSettings settings) {
+        this.store = store;
+        this.settings = settings;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+                if (size() <= settings.getMaxEntries()) {
+                    return false;
+                }
+                // Una partida sucia se sigue viendo hasta que se escriba
+                if (eldest.getValue().isDirty()) {
+                    evictedDirty.put(eldest.getKey(), eldest.getValue());
+                }
+                return true;
+            }
+        };
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "game-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        initialize();
+    }
+
+    @Override
+    public HexGameState save(HexGameState entity) {
+        if (entity == null || entity.getGameId() == null) {
+            throw new IllegalArgumentException("Entidad o ID no puede ser nulo");
+        }
+        beforeSave(entity);
+        // Se codifica fuera del candado de la caché, mientras el llamador
+        // todavía es el único que toca la partida
+        Snapshot snapshot = Snapshot.of(entity);
+        saves.increment();
+        if (!settings.isWriteBehind()) {
+            writeThrough(entity, snapshot);
+            afterSave(entity);
+            return entity;
+        }
+
+        int dirtyCount;
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            String id = entity.getGameId();
+            CacheEntry entry = entries.get(id);
+            if (entry == null) {
+                entry = evictedDirty.remove(id);
+            }
+            if (entry == null) {
+                entries.put(id, new CacheEntry(id, snapshot, entity.getVersion(), 1, now));
+            } else {
+                entry.snapshot = snapshot;
+                entry.revision++;
+                entry.lastAccessNanos = now;
+                entries.put(id, entry);
+            }
+            dirtyIds.add(id);
+            dirtyCount = dirtyIds.size();
+        } finally {
+            lock.unlock();
+        }
+
+        if (dirtyCount >= settings.getFlushBatchSize()) {
+            requestFlush();
+        }
+        afterSave(entity);
+        return entity;
+    }
+
+    /**
+     * Devuelve una partida nueva decodificada de la copia cacheada; el
+     * llamador puede modificarla sin afectar a la caché ni a otros lectores.
+     */
+    @Override
+    public Optional<HexGameState> findById(String id) {
+        if (!settings.isWriteBehind()) {
+            return findValidated(id);
+        }
+        HexGameState cached = lookup(id, ANY_VERSION);
+        if (cached != null) {
+            hits.increment();
+            return Optional.of(cached);
+        }
+        misses.increment();
+
+        Optional<HexGameState> loaded = store.findById(id);
+        if (loaded.isEmpty()) {
+            return loaded;
+        }
+        HexGameState state = loaded.get();
+        Snapshot snapshot = Snapshot.of(state);
+        lock.lock();
+        try {
+            // Si otro hilo guardó la partida mientras se leía, gana la versión en memoria
+            CacheEntry entry = entries.get(id);
+            if (entry == null) {
+                entry = evictedDirty.get(id);
+            }
+            if (entry != null) {
+                return Optional.of(entry.toState());
+            }
+            entries.put(id, new CacheEntry(id, snapshot, state.getVersion(), 0, System.nanoTime()));
+            return loaded;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        if (!settings.isWriteBehind()) {
+            return store.existsById(id);
+        }
+        return lookup(id, ANY_VERSION) != null || store.existsById(id);
+    }
+
+    @Override
+    public boolean deleteById(String id) {
+        boolean removed;
+        flushLock.lock();
+        try {
+            lock.lock();
+            try {
+                CacheEntry cached = entries.remove(id);
+                CacheEntry evicted = evictedDirty.remove(id);
+                dirtyIds.remove(id);
+                removed = cached != null || evicted != null;
+            } finally {
+                lock.unlock();
+            }
+            return store.deleteById(id) || removed;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Override
+    public List<HexGameState> findAll() {
+        flush();
+        return store.findAll();
+    }
+
+    @Override
+    public List<HexGameState> findWhere(Predicate<HexGameState> condition) {
+        flush();
+        return store.findWhere(condition);
+    }
+
+    @Override
+    public <R> List<R> findAndTransform(Predicate<HexGameState> condition, Function<HexGameState, R> transformer) {
+        flush();
+        return store.findAndTransform(condition, transformer);
+    }
+
+    @Override
+    public long countWhere(Predicate<HexGameState> condition) {
+        flush();
+        return store.countWhere(condition);
+    }
+
+    /**
+     * Con flushLock tomado de principio a fin: escribe lo pendiente, borra en
+     * H2 y descarta de la caché las partidas que cumplen la condición, aunque
+     * se hayan vuelto a guardar mientras tanto. Así ninguna escritura
+     * posterior puede resucitar una fila borrada.
+     */
+    @Override
+    public long deleteWhere(Predicate<HexGameState> condition) {
+        flushLock.lock();
+        try {
+            flush();
+            long deleted = store.deleteWhere(condition);
+            discardWhere(condition);
+            return deleted;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * La operación trabaja directo sobre H2, con lo pendiente ya escrito y
+     * sin escrituras de fondo en el medio. Después se descarta todo lo
+     * cacheado limpio, que puede haber quedado viejo; una partida guardada
+     * durante la operación se escribe con la versión que tenía, así que si la
+     * operación cambió o borró su fila se detecta como conflicto en lugar de
+     * pisarla.
+     */
+    @Override
+    public <R> R executeInTransaction(Function<DataRepository<HexGameState, String>, R> operation) {
+        flushLock.lock();
+        try {
+            flush();
+            R result = store.executeInTransaction(operation);
+            invalidateClean();
+            return result;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Override
+    public List<HexGameState> findWithPagination(int page, int size) {
+        flush();
+        return store.findWithPagination(page, size);
+    }
+
+    @Override
+    public Page<HexGameState> findPage(String afterKey, int size, GameSortField sortField) {
+        flush();
+        return store.findPage(afterKey, size, sortField);
+    }
+
+    @Override
+    public List<HexGameState> findAllSorted(Function<HexGameState, ? extends Comparable<?>> sortKeyExtractor, boolean ascending) {
+        flush();
+        return store.findAllSorted(sortKeyExtractor, ascending);
+    }
+
+    /**
+     * Escribe lo pendiente y recorre el almacenamiento con su cursor; las
+     * partidas leídas no pasan por la caché.
+     */
+    public Stream<HexGameState> streamAll() {
+        flush();
+        return store.streamAll();
+    }
+
+    public Stream<HexGameState> streamWhere(Predicate<HexGameState> condition) {
+        flush();
+        return store.streamWhere(condition);
+    }
+
+    @Override
+    public List<GameSummary> findTopScores(int limit) {
+        flush();
+        return store.findTopScores(limit);
+    }
+
+    @Override
+    public PlayerStatistics getPlayerStatistics(String playerId) {
+        flush();
+        return store.getPlayerStatistics(playerId);
+    }
+
+    @Override
+    public <R> List<R> executeCustomQuery(String query, Function<Object, R> resultMapper) {
+        flush();
+        return store.executeCustomQuery(query, resultMapper);
+    }
+
+    /**
+     * Escribe ya todas las partidas sucias, en lotes de flushBatchSize.
+     * Si H2 falla, las partidas siguen sucias y la excepción se propaga.
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            List<CacheEntry> batch = new ArrayList<>();
+            List<Long> revisions = new ArrayList<>();
+            List<Snapshot> snapshots = new ArrayList<>();
+            List<Long> storeVersions = new ArrayList<>();
+            lock.lock();
+            try {
+                for (String id : dirtyIds) {
+                    CacheEntry entry = entries.get(id);
+                    if (entry == null) {
+                        entry = evictedDirty.get(id);
+                    }
+                    batch.add(entry);
+                    revisions.add(entry.revision);
+                    snapshots.add(entry.snapshot);
+                    storeVersions.add(entry.storeVersion);
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            // Copias propias para saveAll, que les asigna la versión nueva al confirmar
+            List<HexGameState> states = new ArrayList<>(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                states.add(snapshots.get(i).decode(batch.get(i).id, storeVersions.get(i)));
+            }
+
+            int batchSize = settings.getFlushBatchSize();
+            for (int from = 0; from < batch.size(); from += batchSize) {
+                int to = Math.min(batch.size(), from + batchSize);
+                List<CacheEntry> chunk = new ArrayList<>(batch.subList(from, to));
+                List<Long> chunkRevisions = new ArrayList<>(revisions.subList(from, to));
+                List<HexGameState> chunkStates = new ArrayList<>(states.subList(from, to));
+                try {
+                    store.saveAll(chunkStates);
+                } catch (GameVersionConflictException e) {
+                    // Otro proceso cambió esas partidas: gana su versión. Se
+                    // descartan de la caché (la próxima lectura va a la base) y
+                    // se reescribe el resto del lote, que se revirtió
+                    discardConflicting(e.getGameIds(), chunk, chunkRevisions, chunkStates);
+                    if (!chunkStates.isEmpty()) {
+                        store.saveAll(chunkStates);
+                    }
+                } catch (RuntimeException e) {
+                    flushFailures.increment();
+                    throw e;
+                }
+                writes.add(chunkStates.size());
+                markPersisted(chunk, chunkRevisions, chunkStates);
+            }
+            flushes.increment();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Estadísticas de la caché: aciertos, fallos, saves recibidos, partidas
+     * escritas (la diferencia con saves es lo que se combinó), pendientes y
+     * partidas descartadas por conflicto de versión.
+     */
+    public Map<String, Object> getCacheStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("hits", hits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("saves", saves.sum());
+        stats.put("writes", writes.sum());
+        stats.put("flushes", flushes.sum());
+        stats.put("flushFailures", flushFailures.sum());
+        stats.put("conflicts", conflicts.sum());
+        lock.lock();
+        try {
+            stats.put("cachedGames", entries.size());
+            stats.put("dirtyGames", dirtyIds.size());
+        } finally {
+            lock.unlock();
+        }
+        return stats;
+    }
+
+    public H2GameRepository getStore() {
+        return store;
+    }
+
+    /**
+     * Escribe lo pendiente, detiene el hilo de fondo y cierra H2.
+     */
+    @Override
+    public void close() {
+        cleanup();
+    }
+
+    @Override
+    protected void initialize() {
+        long interval = settings.getFlushIntervalMs();
+        flusher.scheduleWithFixedDelay(this::backgroundFlush, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    protected void cleanup() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            flush();
+        } finally {
+            store.close();
+        }
+    }
+
+    // Métodos auxiliares
+
+    /**
+     * Escribe en H2 con el UPDATE condicionado a la versión de la partida y
+     * recién entonces actualiza la caché. Si la escritura falla (en
+     * particular por conflicto de versión) se descarta la copia cacheada,
+     * así que el reintento del llamador lee la partida de la base.
+     */
+    private void writeThrough(HexGameState entity, Snapshot snapshot) {
+        String id = entity.getGameId();
+        try {
+            store.save(entity);
+        } catch (RuntimeException e) {
+            if (e instanceof GameVersionConflictException) {
+                conflicts.increment();
+            }
+            evict(id);
+            throw e;
+        }
+        writes.increment();
+        cacheClean(id, snapshot, entity.getVersion());
+    }
+
+    /**
+     * findById en write-through: usa la copia cacheada solo si su versión es
+     * la de la fila; si no, lee la partida de H2 y la cachea.
+     */
+    private Optional<HexGameState> findValidated(String id) {
+        OptionalLong current = store.findVersion(id);
+        if (current.isEmpty()) {
+            evict(id);
+            misses.increment();
+            return Optional.empty();
+        }
+        HexGameState cached = lookup(id, current.getAsLong());
+        if (cached != null) {
+            hits.increment();
+            return Optional.of(cached);
+        }
+        misses.increment();
+
+        Optional<HexGameState> loaded = store.findById(id);
+        if (loaded.isPresent()) {
+            HexGameState state = loaded.get();
+            cacheClean(id, Snapshot.of(state), state.getVersion());
+        } else {
+            evict(id);
+        }
+        return loaded;
+    }
+
+    /**
+     * Cachea la copia como limpia, salvo que ya haya una de una versión más
+     * nueva (otro hilo guardó o leyó después).
+     */
+    private void cacheClean(String id, Snapshot snapshot, long storeVersion) {
+        lock.lock();
+        try {
+            CacheEntry entry = entries.get(id);
+            if (entry == null || entry.storeVersion < storeVersion) {
+                entries.put(id, new CacheEntry(id, snapshot, storeVersion, 0, System.nanoTime()));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void evict(String id) {
+        lock.lock();
+        try {
+            entries.remove(id);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Partida nueva decodificada de la copia cacheada, o null si no está o si
+     * su versión no es requiredVersion (ANY_VERSION acepta cualquiera). Bajo
+     * el candado solo se toman las referencias; la decodificación va fuera.
+     */
+    private HexGameState lookup(String id, long requiredVersion) {
+        Snapshot snapshot;
+        long storeVersion;
+        lock.lock();
+        try {
+            CacheEntry entry = entries.get(id);
+            if (entry != null) {
+                entry.lastAccessNanos = System.nanoTime();
+            } else {
+                entry = evictedDirty.get(id);
+            }
+            if (entry == null || (requiredVersion != ANY_VERSION && entry.storeVersion != requiredVersion)) {
+                return null;
+            }
+            snapshot = entry.snapshot;
+            storeVersion = entry.storeVersion;
+        } finally {
+            lock.unlock();
+        }
+        return snapshot.decode(id, storeVersion);
+    }
+
+    private void discardConflicting(List<String> gameIds, List<CacheEntry> chunk,
+                                    List<Long> chunkRevisions, List<HexGameState> chunkStates) {
+        Set<String> conflicting = new HashSet<>(gameIds);
+        lock.lock();
+        try {
+            for (String id : conflicting) {
+                entries.remove(id);
+                evictedDirty.remove(id);
+                dirtyIds.remove(id);
+            }
+        } finally {
+            lock.unlock();
+        }
+        for (int i = chunk.size() - 1; i >= 0; i--) {
+            if (conflicting.contains(chunkStates.get(i).getGameId())) {
+                chunk.remove(i);
+                chunkRevisions.remove(i);
+                chunkStates.remove(i);
+            }
+        }
+        conflicts.add(conflicting.size());
+        log.warn("Partidas modificadas por otro proceso, se descartan de la caché: {}", gameIds);
+    }
+
+    private void markPersisted(List<CacheEntry> written, List<Long> revisions, List<HexGameState> states) {
+        lock.lock();
+        try {
+            for (int i = 0; i < written.size(); i++) {
+                CacheEntry entry = written.get(i);
+                entry.persistedRevision = Math.max(entry.persistedRevision, revisions.get(i));
+                // Las próximas escrituras parten de la versión que quedó en H2
+                entry.storeVersion = states.get(i).getVersion();
+                if (!entry.isDirty()) {
+                    dirtyIds.remove(entry.id);
+                    evictedDirty.remove(entry.id, entry);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void requestFlush() {
+        if (flushRequested.compareAndSet(false, true)) {
+            try {
+                flusher.execute(this::backgroundFlush);
+            } catch (RejectedExecutionException e) {
+                // Cerrando: close() escribe lo pendiente
+                flushRequested.set(false);
+            }
+        }
+    }
+
+    private void backgroundFlush() {
+        flushRequested.set(false);
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // Las partidas siguen sucias; se reintenta en la próxima ventana
+            log.error("Error escribiendo partidas pendientes; se reintenta en la próxima ventana", e);
+        }
+        evictExpired();
+    }
+
+    /**
+     * Desaloja las partidas limpias sin acceso durante más de ttl.
+     * El mapa está en orden de acceso, así que basta recorrer desde el inicio.
+     */
+    private void evictExpired() {
+        long threshold = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(settings.getTtlMs());
+        lock.lock();
+        try {
+            Iterator<CacheEntry> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                CacheEntry entry = iterator.next();
+                if (entry.lastAccessNanos - threshold >= 0) {
+                    break;
+                }
+                if (!entry.isDirty()) {
+                    iterator.remove();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Quita de la caché (sucias o no) las partidas que cumplen la condición.
+     * Se llama con flushLock tomado, así que ninguna se está escribiendo. Se
+     * evalúa sobre copias decodificadas, bajo el candado de la caché: es una
+     * operación masiva y poco frecuente.
+     */
+    private void discardWhere(Predicate<HexGameState> condition) {
+        lock.lock();
+        try {
+            List<CacheEntry> candidates = new ArrayList<>(entries.values());
+            candidates.addAll(evictedDirty.values());
+            for (CacheEntry entry : candidates) {
+                if (condition.test(entry.toState())) {
+                    entries.remove(entry.id);
+                    evictedDirty.remove(entry.id);
+                    dirtyIds.remove(entry.id);
+                }
+            }
+            // Las limpias que no cumplen se descartan igual, por si la
+            // condición miraba datos que solo están en H2
+            entries.values().removeIf(entry -> !entry.isDirty());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void invalidateClean() {
+        lock.lock();
+        try {
+            entries.values().removeIf(entry -> !entry.isDirty());
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.atraparalagato.impl.repository;
+
+import java.util.function.Function;
+
+/**
+ * Configuración de WriteBehindGameRepository.
+ *
+ * Se lee de propiedades con prefijo "game.cache." (application.properties o
+ * propiedades del sistema); cualquier propiedad ausente toma el valor por
+ * defecto:
+ *
+ *   game.cache.write-behind       false: cada save escribe en H2 con control de
+ *                                 versión antes de confirmarse (write-through).
+ *                                 true: los saves se combinan y se escriben en
+ *                                 segundo plano; solo si este proceso es el único
+ *                                 que escribe la base (false)
+ *   game.cache.max-entries        partidas activas en memoria (10000)
+ *   game.cache.ttl-ms             tiempo sin acceso antes de desalojar una partida (1800000)
+ *   game.cache.flush-interval-ms  ventana de durabilidad: cada cuánto se escriben los cambios (500)
+ *   game.cache.flush-batch-size   partidas por lote de escritura; al juntarse tantas
+ *                                 pendientes se adelanta la escritura (200)
+ */
+public final class WriteBehindSettings {
+
+    public static final String PREFIX = "game.cache.";
+
+    private final boolean writeBehind;
+    private final int maxEntries;
+    private final long ttlMs;
+    private final long flushIntervalMs;
+    private final int flushBatchSize;
+
+    private WriteBehindSettings(Function<String, String> lookup) {
+        this.writeBehind = flag(lookup, "write-behind", false);
+        this.maxEntries = (int) number(lookup, "max-entries", 10_000);
+        this.ttlMs = number(lookup, "ttl-ms", 30 * 60_000);
+        this.flushIntervalMs = number(lookup, "flush-interval-ms", 500);
+        this.flushBatchSize = (int) number(lookup, "flush-batch-size", 200);
+        if (maxEntries < 1 || ttlMs < 1 || flushIntervalMs < 1 || flushBatchSize < 1) {
+            throw new IllegalArgumentException("Los valores de " + PREFIX + "* deben ser mayores que 0");
+        }
+    }
+
+    public static WriteBehindSettings defaults() {
+        return new WriteBehindSettings(key -> null);
+    }
+
+    /**
+     * Lee la configuración con la función dada, que recibe la clave completa
+     * (p.ej. "game.cache.max-entries") y devuelve null si no está definida.
+     */
+    public static WriteBehindSettings from(Function<String, String> lookup) {
+        return new WriteBehindSettings(lookup);
+    }
+
+    public static WriteBehindSettings fromSystemProperties() {
+        return new WriteBehindSettings(System::getProperty);
+    }
+
+    public boolean isWriteBehind() {
+        return writeBehind;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public long getTtlMs() {
+        return ttlMs;
+    }
+
+    public long getFlushIntervalMs() {
+        return flushIntervalMs;
+    }
+
+    public int getFlushBatchSize() {
+        return flushBatchSize;
+    }
+
+    private static boolean flag(Function<String, String> lookup, String key, boolean defaultValue) {
+        String value = lookup.apply(PREFIX + key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        return switch (value.trim().toLowerCase()) {
+            case "true" -> true;
+            case "false" -> false;
+            default -> throw new IllegalArgumentException("Valor inválido para " + PREFIX + key + ": " + value);
+        };
+    }
+
+    private static long number(Function<String, String> lookup, String key, long defaultValue) {
+        String value = lookup.apply(PREFIX + key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor inválido para " + PREFIX + key + ": " + value, e);
+        }
+    }
+}
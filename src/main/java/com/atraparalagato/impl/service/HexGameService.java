@@ -3,15 +3,23 @@ package com.atraparalagato.impl.service;
 import com.atraparalagato.base.service.GameService;
 import com.atraparalagato.base.model.GameState;
 import com.atraparalagato.base.model.GameBoard;
-import com.atraparalagato.base.strategy.CatMovementStrategy;
+import com.atraparalagato.base.repository.DataRepository;
 import com.atraparalagato.impl.model.HexPosition;
-import com.atraparalagato.impl.strategy.AStarCatMovement;
-import com.atraparalagato.impl.strategy.BFSCatMovement;
+import com.atraparalagato.impl.strategy.AStarEscapeStrategy;
+import com.atraparalagato.impl.strategy.BFSEscapeStrategy;
+import com.atraparalagato.impl.strategy.HexMovementStrategy;
+import com.atraparalagato.impl.strategy.UnboundMovement;
 import com.atraparalagato.impl.model.HexGameState;
 import com.atraparalagato.impl.model.HexGameBoard;
+import com.atraparalagato.impl.repository.GameQuery;
+import com.atraparalagato.impl.repository.GameStatisticsQueries;
+import com.atraparalagato.impl.repository.GameVersionConflictException;
 import com.atraparalagato.impl.repository.H2GameRepository;
+import com.atraparalagato.impl.repository.PlayerStatistics;
+import com.atraparalagato.impl.repository.WriteBehindGameRepository;
 
 import java.util.*;
+import java.util.function.Supplier;
 
 /**
  * Implementación esqueleto de GameService para el juego hexagonal.
@@ -27,24 +35,57 @@ import java.util.*;
  */
 public class HexGameService extends GameService<HexPosition> {
     
-    // Dependencias básicas para la implementación simplificada
-    private final H2GameRepository repository;
+    // Franjas de candados por partida: con 256, dos partidas activas distintas
+    // rara vez comparten candado
+    private static final int MOVE_LOCK_STRIPES = 256;
+    // Intentos de un movimiento si otro proceso guardó la partida en el medio
+    private static final int MAX_MOVE_ATTEMPTS = 3;
+    // Estrategias sin estado compartidas por todas las partidas: reciben el
+    // tablero en cada llamada, así que no se crea una por movimiento
+    private static final HexMovementStrategy DEFAULT_STRATEGY = BFSEscapeStrategy.DISTANCE_FIELD;
+    private static final HexMovementStrategy HARD_STRATEGY = AStarEscapeStrategy.SINGLE_SEARCH;
+    // Tamaño del tablero de las partidas que crea la fábrica de la clase base
+    private static final int DEFAULT_BOARD_SIZE = 5;
+
+    // Dependencias básicas para la implementación simplificada. Cada findById
+    // devuelve una partida propia (H2 la decodifica de la fila y la caché de
+    // una copia inmutable), así que las lecturas no necesitan el candado: nunca
+    // ven una partida que otro hilo está moviendo
+    private final DataRepository<HexGameState, String> repository;
+    // Serializa los movimientos de una misma partida (cargar, mover, guardar)
+    private final StripedGameLocks moveLocks = new StripedGameLocks(MOVE_LOCK_STRIPES);
 
     public HexGameService() {
-        this(new H2GameRepository());
+        // Caché delante de H2: por defecto write-through, que comprueba la
+        // versión de la partida en cada save y valida cada lectura, así que
+        // varias instancias pueden compartir la base
+        this(new WriteBehindGameRepository(new H2GameRepository()));
     }
 
-    private HexGameService(H2GameRepository repo) {
+    public HexGameService(DataRepository<HexGameState, String> repo) {
+        // Sin tablero fijo: cada partida tiene el suyo y moveCat elige la
+        // estrategia compartida según su dificultad. GameService solo guarda
+        // el tablero (no lo lee), y su estrategia falla si alguien la usa
         super(
-            new HexGameBoard(5),
-            new BFSCatMovement(new HexGameBoard(5)),
-            (com.atraparalagato.base.repository.DataRepository<com.atraparalagato.base.model.GameState<HexPosition>, String>) (com.atraparalagato.base.repository.DataRepository<?>) repo,
+            null,
+            UnboundMovement.INSTANCE,
+            asBaseRepository(repo),
             () -> UUID.randomUUID().toString(),
             HexGameBoard::new,
-            (String id) -> new HexGameState(id, 5)
+            (String id) -> new HexGameState(id, DEFAULT_BOARD_SIZE)
         );
         this.repository = repo;
     }
+
+    /**
+     * La clase base espera un repositorio de GameState; el servicio solo le
+     * pasa HexGameState y la base solo guarda lo que lee de él.
+     */
+    @SuppressWarnings("unchecked")
+    private static DataRepository<GameState<HexPosition>, String> asBaseRepository(
+            DataRepository<? extends GameState<HexPosition>, String> repo) {
+        return (DataRepository<GameState<HexPosition>, String>) repo;
+    }
     
     /**
      * TODO: Crear un nuevo juego con configuración personalizada.
@@ -64,6 +105,11 @@ public class HexGameService extends GameService<HexPosition> {
 
         HexGameState gameState = new HexGameState(UUID.randomUUID().toString(), boardSize);
         // El constructor ya crea el tablero y coloca al gato en el centro
+        gameState.setDifficulty(difficulty);
+        Object playerId = options.get("playerId");
+        if (playerId != null) {
+            gameState.setPlayerId(playerId.toString());
+        }
 
         repository.save(gameState);
         return gameState;
@@ -73,6 +119,33 @@ public class HexGameService extends GameService<HexPosition> {
      * TODO: Ejecutar movimiento del jugador con validaciones avanzadas.
      */
     public Optional<HexGameState> executePlayerMove(String gameId, HexPosition position, String playerId) {
+        // Cargar, mover y guardar bajo el candado de la partida: dos pedidos
+        // sobre la misma partida (doble clic, reintentos) no pisan sus cambios;
+        // partidas distintas no se esperan
+        return moveLocks.withLock(gameId,
+                () -> retryOnConflict(MAX_MOVE_ATTEMPTS, () -> applyPlayerMove(gameId, position, playerId)));
+    }
+
+    /**
+     * Ejecuta operation (leer, modificar y guardar) y, si el guardado falla
+     * porque otro proceso modificó la partida desde que se leyó, la vuelve a
+     * ejecutar desde la lectura, hasta maxAttempts veces. El candado por
+     * partida ya ordena los pedidos de este proceso; esto cubre a otras
+     * instancias del servicio que comparten la base.
+     */
+    static <R> R retryOnConflict(int maxAttempts, Supplier<R> operation) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return operation.get();
+            } catch (GameVersionConflictException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private Optional<HexGameState> applyPlayerMove(String gameId, HexPosition position, String playerId) {
         Optional<HexGameState> stateOpt = repository.findById(gameId);
         if (stateOpt.isEmpty()) {
             return Optional.empty();
@@ -87,11 +160,11 @@ public class HexGameService extends GameService<HexPosition> {
         if (!state.executeMove(position)) {
             return Optional.of(state);
         }
+        if (playerId != null && state.getPlayerId() == null) {
+            state.setPlayerId(playerId);
+        }
 
-        // Mover el gato de forma simple utilizando BFS
-        CatMovementStrategy<HexPosition> strategy = new BFSCatMovement(state.getGameBoard());
-        strategy.findBestMove(state.getCatPosition(), getTargetPosition(state))
-                .ifPresent(state::setCatPosition);
+        moveCat(state);
 
         repository.save(state);
         return Optional.of(state);
@@ -148,16 +221,27 @@ public class HexGameService extends GameService<HexPosition> {
      * TODO: Obtener estadísticas globales del jugador.
      */
     public Map<String, Object> getPlayerStatistics(String playerId) {
-        List<HexGameState> all = repository.findAll();
-        int total = all.size();
-        long won = all.stream().filter(HexGameState::hasPlayerWon).count();
-        double avgScore = all.stream().mapToInt(HexGameState::calculateScore).average().orElse(0);
+        PlayerStatistics stats;
+        if (repository instanceof GameStatisticsQueries queries) {
+            // Agregación en SQL sobre las columnas indexadas
+            stats = queries.getPlayerStatistics(playerId);
+        } else {
+            List<HexGameState> games = repository.findWhere(GameQuery.playerId(playerId));
+            IntSummaryStatistics scores = games.stream().mapToInt(HexGameState::calculateScore).summaryStatistics();
+            stats = new PlayerStatistics(
+                    playerId,
+                    games.size(),
+                    games.stream().filter(HexGameState::hasPlayerWon).count(),
+                    scores.getAverage(),
+                    games.isEmpty() ? 0 : scores.getMax());
+        }
 
         Map<String, Object> map = new HashMap<>();
         map.put("playerId", playerId);
-        map.put("gamesPlayed", total);
-        map.put("winRate", total == 0 ? 0 : (double) won / total);
-        map.put("averageScore", avgScore);
+        map.put("gamesPlayed", stats.gamesPlayed());
+        map.put("winRate", stats.winRate());
+        map.put("averageScore", stats.averageScore());
+        map.put("bestScore", stats.bestScore());
         return map;
     }
     
@@ -189,10 +273,20 @@ public class HexGameService extends GameService<HexPosition> {
      * TODO: Obtener ranking de mejores puntuaciones.
      */
     public List<Map<String, Object>> getLeaderboard(int limit) {
+        if (repository instanceof GameStatisticsQueries queries) {
+            // Recorre el índice por puntuación: no carga todas las partidas
+            return queries.findTopScores(limit).stream()
+                    .map(summary -> Map.<String, Object>of(
+                            "gameId", summary.gameId(),
+                            "score", summary.score(),
+                            "moves", summary.moveCount(),
+                            "boardSize", summary.boardSize()))
+                    .toList();
+        }
         return repository.findAll().stream()
                 .sorted(Comparator.comparingInt(HexGameState::calculateScore).reversed())
                 .limit(limit)
-                .map(gs -> Map.of(
+                .map(gs -> Map.<String, Object>of(
                         "gameId", gs.getGameId(),
                         "score", gs.calculateScore(),
                         "moves", gs.getMoveCount(),
@@ -210,12 +304,16 @@ public class HexGameService extends GameService<HexPosition> {
     }
     
     /**
-     * TODO: Ejecutar movimiento del gato usando estrategia apropiada.
+     * Mueve el gato con la estrategia compartida de la dificultad de la
+     * partida, sobre el tablero de la propia partida.
      */
-    private void executeCatMove(HexGameState gameState, String difficulty) {
-        CatMovementStrategy<HexPosition> strategy = createMovementStrategy(difficulty, gameState.getGameBoard());
-        strategy.findBestMove(gameState.getCatPosition(), getTargetPosition(gameState))
-                .ifPresent(gameState::setCatPosition);
+    private void moveCat(HexGameState gameState) {
+        strategyFor(gameState.getDifficulty())
+                .findBestMove(gameState.getGameBoard(), gameState.getCatPosition(), getTargetPosition(gameState))
+                .ifPresent(nextMove -> {
+                    gameState.setCatPosition(nextMove);
+                    onCatMoved(gameState, nextMove);
+                });
     }
     
     /**
@@ -233,21 +331,56 @@ public class HexGameService extends GameService<HexPosition> {
     }
     
     /**
-     * TODO: Crear factory de estrategias según dificultad.
+     * Estrategia según dificultad; siempre la misma instancia compartida.
      */
-    private CatMovementStrategy createMovementStrategy(String difficulty, HexGameBoard board) {
-        if ("hard".equalsIgnoreCase(difficulty)) {
-            return new AStarCatMovement(board);
+    private static HexMovementStrategy strategyFor(String difficulty) {
+        return "hard".equalsIgnoreCase(difficulty) ? HARD_STRATEGY : DEFAULT_STRATEGY;
+    }
+
+    /**
+     * Libera el repositorio; con la caché write-behind escribe antes lo pendiente.
+     */
+    public void close() {
+        if (repository instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                throw new RuntimeException("Error cerrando el repositorio", e);
+            }
         }
-        return new BFSCatMovement(board);
     }
 
     // Métodos abstractos requeridos por GameService
 
+    /**
+     * Lo usa GameService.executePlayerMove(gameId, position), que es final y
+     * no toma el candado de la partida ni reintenta. Sigue siendo seguro: el
+     * save de una partida leída en la versión N es un UPDATE condicionado a
+     * esa versión, así que si otro pedido la guardó en el medio el movimiento
+     * falla con GameVersionConflictException en lugar de pisarlo. Conviene
+     * usar executePlayerMove(gameId, position, playerId), que serializa los
+     * movimientos de la partida y reintenta el conflicto.
+     */
+    @Override
+    protected Optional<GameState<HexPosition>> loadGameState(String gameId) {
+        return repository.findById(gameId).map(state -> state);
+    }
+
     @Override
     protected void initializeGame(GameState<HexPosition> gameState, GameBoard<HexPosition> gameBoard) {
         if (gameState instanceof HexGameState hexState) {
-            hexState.setCatPosition(new HexPosition(0, 0));
+            hexState.setCatPosition(HexPosition.of(0, 0));
+        }
+    }
+
+    /**
+     * Camino de GameService.executePlayerMove(gameId, position): mismo
+     * movimiento del gato que executePlayerMove(gameId, position, playerId).
+     */
+    @Override
+    protected void executeCatMove(GameState<HexPosition> gameState) {
+        if (gameState instanceof HexGameState hexState) {
+            moveCat(hexState);
         }
     }
 
@@ -272,9 +405,9 @@ public class HexGameService extends GameService<HexPosition> {
     protected HexPosition getTargetPosition(GameState<HexPosition> gameState) {
         if (gameState instanceof HexGameState hexState) {
             int size = hexState.getBoardSize();
-            return new HexPosition(size, 0);
+            return HexPosition.of(size, 0);
         }
-        return new HexPosition(0, 0);
+        return HexPosition.of(0, 0);
     }
 
     @Override
@@ -0,0 +1,63 @@
+package com.atraparalagato.impl.service;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Candados por partida repartidos en un número fijo de franjas.
+ *
+ * Cada id de partida cae siempre en la misma franja, así que dos operaciones
+ * sobre la misma partida se ejecutan una después de la otra; partidas en
+ * franjas distintas avanzan en paralelo. Dos partidas pueden compartir
+ * franja (y esperarse entre sí), pero la memoria no crece con la cantidad de
+ * partidas ni hay que limpiar candados de partidas terminadas.
+ */
+final class StripedGameLocks {
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    /**
+     * @param minStripes cantidad mínima de franjas; se redondea a potencia de 2
+     */
+    StripedGameLocks(int minStripes) {
+        if (minStripes < 1) {
+            throw new IllegalArgumentException("Se necesita al menos una franja");
+        }
+        int count = Integer.highestOneBit(minStripes);
+        if (count < minStripes) {
+            count <<= 1;
+        }
+        stripes = new ReentrantLock[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        mask = count - 1;
+    }
+
+    ReentrantLock lockFor(String gameId) {
+        int hash = gameId.hashCode();
+        // Mezcla los bits altos: ids parecidos no deben caer en la misma franja
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        return stripes[hash & mask];
+    }
+
+    /**
+     * Ejecuta action con el candado de la partida tomado.
+     */
+    <R> R withLock(String gameId, Supplier<R> action) {
+        ReentrantLock lock = lockFor(gameId);
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int getStripeCount() {
+        return stripes.length;
+    }
+}
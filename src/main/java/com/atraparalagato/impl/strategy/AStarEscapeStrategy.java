@@ -0,0 +1,223 @@
+package com.atraparalagato.impl.strategy;
+
+import com.atraparalagato.base.model.GameBoard;
+import com.atraparalagato.impl.model.HexBoardIndex;
+import com.atraparalagato.impl.model.HexPosition;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Estrategia A* sin estado para el gato.
+ *
+ * Las tres búsquedas (aStarCost, hasPathToGoal, getFullPath) trabajan sobre los
+ * índices densos del tablero y usan los arreglos de un espacio de trabajo
+ * tomado del pool compartido (ver HexSearchWorkspace.acquire()).
+ *
+ * Modo búsqueda única ({@link #SINGLE_SEARCH}): en lugar de un A* por cada
+ * vecino hacia una celda fija del borde, se lanza un solo A* desde el gato
+ * hasta la celda libre del borde más cercana, guiado por la distancia exacta
+ * al anillo del borde (admisible y consistente), y se devuelve el primer paso
+ * del camino. {@link #PER_MOVE} hace un A* por candidato hacia targetPosition.
+ */
+public final class AStarEscapeStrategy implements HexMovementStrategy {
+
+    public static final AStarEscapeStrategy SINGLE_SEARCH = new AStarEscapeStrategy(true);
+    public static final AStarEscapeStrategy PER_MOVE = new AStarEscapeStrategy(false);
+
+    private final boolean singleSearch;
+
+    private AStarEscapeStrategy(boolean singleSearch) {
+        this.singleSearch = singleSearch;
+    }
+
+    @Override
+    public Optional<HexPosition> selectBestMove(GameBoard<HexPosition> board,
+                                                List<HexPosition> possibleMoves,
+                                                HexPosition currentPosition,
+                                                HexPosition targetPosition) {
+        if (singleSearch) {
+            return firstStepToBorder(board, currentPosition);
+        }
+
+        HexPosition bestMove = null;
+        double bestCost = Double.POSITIVE_INFINITY;
+
+        for (HexPosition move : possibleMoves) {
+            double cost = aStarCost(board, move, targetPosition);
+            if (cost < bestCost) {
+                bestCost = cost;
+                bestMove = move;
+            }
+        }
+        return Optional.ofNullable(bestMove);
+    }
+
+    /**
+     * Un solo A* desde el gato hasta cualquier celda objetivo; devuelve el primer paso.
+     */
+    private Optional<HexPosition> firstStepToBorder(GameBoard<HexPosition> board, HexPosition currentPosition) {
+        HexBoardIndex index = HexSearchEngine.indexFor(board);
+        int startCell = index.indexOf(currentPosition);
+        if (startCell < 0) {
+            return Optional.empty();
+        }
+        HexSearchWorkspace ws = HexSearchWorkspace.acquire();
+        try {
+            int reached = search(board, ws, index, startCell, -1, true);
+            if (reached < 0 || reached == startCell) {
+                return Optional.empty();
+            }
+            int[] parent = ws.parent;
+            int step = reached;
+            while (parent[step] != startCell) {
+                step = parent[step];
+            }
+            return Optional.of(index.positionAt(step));
+        } finally {
+            HexSearchWorkspace.release(ws);
+        }
+    }
+
+    private double aStarCost(GameBoard<HexPosition> board, HexPosition start, HexPosition goal) {
+        HexBoardIndex index = HexSearchEngine.indexFor(board);
+        int startCell = index.indexOf(start);
+        int goalCell = index.indexOf(goal);
+        if (startCell < 0 || goalCell < 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        HexSearchWorkspace ws = HexSearchWorkspace.acquire();
+        try {
+            int reached = search(board, ws, index, startCell, goalCell, true);
+            return reached < 0 ? Double.POSITIVE_INFINITY : ws.gScore[reached];
+        } finally {
+            HexSearchWorkspace.release(ws);
+        }
+    }
+
+    @Override
+    public Function<HexPosition, Double> getHeuristicFunction(GameBoard<HexPosition> board,
+                                                              HexPosition targetPosition) {
+        if (targetPosition != null) {
+            // Distancia hexagonal al objetivo: admisible y consistente con costo 1 por paso
+            return position -> position.distanceTo(targetPosition);
+        }
+        // Sin objetivo concreto: distancia exacta al anillo del borde
+        int boardSize = board.getSize();
+        return position -> {
+            int ring = Math.max(Math.abs(position.getQ()),
+                                Math.max(Math.abs(position.getR()), Math.abs(position.getS())));
+            return (double) Math.max(0, boardSize - ring);
+        };
+    }
+
+    /**
+     * Misma heurística que getHeuristicFunction() evaluada sobre índices de celda,
+     * sin boxing. Con goalCell = -1 el objetivo es el borde: size - anillo.
+     */
+    private double estimate(HexBoardIndex index, int cell, int goalCell) {
+        if (goalCell < 0) {
+            return index.getSize() - index.ringOf(cell);
+        }
+        return index.positionAt(cell).distanceTo(index.positionAt(goalCell));
+    }
+
+    @Override
+    public boolean hasPathToGoal(GameBoard<HexPosition> board, HexPosition currentPosition) {
+        // Para solo búsqueda, heurística 0 (Dijkstra hasta cualquier celda objetivo)
+        HexBoardIndex index = HexSearchEngine.indexFor(board);
+        int startCell = index.indexOf(currentPosition);
+        if (startCell < 0) {
+            return false;
+        }
+        HexSearchWorkspace ws = HexSearchWorkspace.acquire();
+        try {
+            return search(board, ws, index, startCell, -1, false) >= 0;
+        } finally {
+            HexSearchWorkspace.release(ws);
+        }
+    }
+
+    @Override
+    public List<HexPosition> getFullPath(GameBoard<HexPosition> board, HexPosition currentPosition,
+                                         HexPosition targetPosition) {
+        HexBoardIndex index = HexSearchEngine.indexFor(board);
+        int startCell = index.indexOf(currentPosition);
+        int goalCell = index.indexOf(targetPosition);
+        if (startCell < 0 || goalCell < 0) {
+            return Collections.emptyList();
+        }
+        HexSearchWorkspace ws = HexSearchWorkspace.acquire();
+        try {
+            int reached = search(board, ws, index, startCell, goalCell, true);
+            if (reached < 0) {
+                // Si no se encontró camino
+                return Collections.emptyList();
+            }
+            return reconstructPath(ws, index, reached);
+        } finally {
+            HexSearchWorkspace.release(ws);
+        }
+    }
+
+    /**
+     * Núcleo de A* sobre índices de celda.
+     *
+     * Usa un montículo indexado con decrease-key, así que cada celda está como
+     * mucho una vez en la frontera. Si goalCell es -1 el objetivo es cualquier
+     * celda que cumpla getGoalPredicate(). Devuelve la celda objetivo alcanzada
+     * o -1; gScore y parent de ws quedan listos para reconstruir el camino.
+     */
+    private int search(GameBoard<HexPosition> board, HexSearchWorkspace ws, HexBoardIndex index,
+                       int startCell, int goalCell, boolean useHeuristic) {
+        Predicate<HexPosition> isGoal = goalCell < 0 ? getGoalPredicate(board) : null;
+        int visit = ws.begin(index);
+        IndexedMinHeap openSet = ws.openSet;
+        double[] gScore = ws.gScore;
+        int[] parent = ws.parent;
+        int[] seen = ws.seen;
+        int[] closed = ws.closed;
+
+        gScore[startCell] = 0.0;
+        parent[startCell] = -1;
+        seen[startCell] = visit;
+        openSet.insertOrDecrease(startCell, useHeuristic ? estimate(index, startCell, goalCell) : 0.0);
+
+        while (!openSet.isEmpty()) {
+            int current = openSet.poll();
+            HexPosition currentPosition = index.positionAt(current);
+
+            if (current == goalCell || (isGoal != null && isGoal.test(currentPosition))) {
+                return current;
+            }
+
+            closed[current] = visit;
+
+            for (int dir = 0; dir < HexBoardIndex.DIRECTIONS; dir++) {
+                int neighbor = index.neighbor(current, dir);
+                if (neighbor < 0 || closed[neighbor] == visit || HexSearchEngine.isBlockedCell(board, index, neighbor)) continue;
+
+                double tentativeG = gScore[current] + getMoveCost(currentPosition, index.positionAt(neighbor));
+                if (seen[neighbor] != visit || tentativeG < gScore[neighbor]) {
+                    seen[neighbor] = visit;
+                    gScore[neighbor] = tentativeG;
+                    parent[neighbor] = current;
+                    double fScore = tentativeG + (useHeuristic ? estimate(index, neighbor, goalCell) : 0.0);
+                    openSet.insertOrDecrease(neighbor, fScore);
+                }
+            }
+        }
+        return -1; // No hay camino
+    }
+
+    private List<HexPosition> reconstructPath(HexSearchWorkspace ws, HexBoardIndex index, int goalCell) {
+        int[] parent = ws.parent;
+        List<HexPosition> path = new ArrayList<>();
+        for (int cell = goalCell; cell >= 0; cell = parent[cell]) {
+            path.add(index.positionAt(cell));
+        }
+        Collections.reverse(path); // Invertir para que empiece en el origen
+        return path;
+    }
+}
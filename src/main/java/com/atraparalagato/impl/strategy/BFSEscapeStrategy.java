@@ -0,0 +1,131 @@
+package com.atraparalagato.impl.strategy;
+
+import com.atraparalagato.base.model.GameBoard;
+import com.atraparalagato.impl.model.BitsetHexGameBoard;
+import com.atraparalagato.impl.model.EscapeDistanceField;
+import com.atraparalagato.impl.model.HexPosition;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Estrategia BFS (Breadth-First Search) sin estado para el gato.
+ *
+ * Modo campo de distancias ({@link #DISTANCE_FIELD}): cuando el tablero es un
+ * BitsetHexGameBoard, en lugar de lanzar un BFS por cada movimiento candidato
+ * se consulta la distancia de escape que el tablero mantiene de forma
+ * incremental y se elige el vecino con menor distancia, y hasPathToGoal lee
+ * la distancia del gato. {@link #PER_MOVE} hace siempre el BFS clásico.
+ */
+public final class BFSEscapeStrategy implements HexMovementStrategy {
+
+    public static final BFSEscapeStrategy DISTANCE_FIELD = new BFSEscapeStrategy(true);
+    public static final BFSEscapeStrategy PER_MOVE = new BFSEscapeStrategy(false);
+
+    private final boolean useDistanceField;
+
+    private BFSEscapeStrategy(boolean useDistanceField) {
+        this.useDistanceField = useDistanceField;
+    }
+
+    @Override
+    public Optional<HexPosition> selectBestMove(GameBoard<HexPosition> board,
+                                                List<HexPosition> possibleMoves,
+                                                HexPosition currentPosition,
+                                                HexPosition targetPosition) {
+        if (useDistanceField && board instanceof BitsetHexGameBoard bitsetBoard) {
+            return selectByDistanceField(possibleMoves, bitsetBoard);
+        }
+
+        HexPosition bestMove = null;
+        int bestPathLength = Integer.MAX_VALUE;
+
+        for (HexPosition move : possibleMoves) {
+            Optional<List<HexPosition>> pathOpt = bfsToGoal(board, move);
+            if (pathOpt.isPresent()) {
+                List<HexPosition> path = pathOpt.get();
+                if (path.size() < bestPathLength) {
+                    bestPathLength = path.size();
+                    bestMove = move;
+                }
+            }
+        }
+        return Optional.ofNullable(bestMove);
+    }
+
+    @Override
+    public boolean hasPathToGoal(GameBoard<HexPosition> board, HexPosition currentPosition) {
+        if (!useDistanceField) {
+            return bfsToGoal(board, currentPosition).isPresent();
+        }
+        if (board instanceof BitsetHexGameBoard bitsetBoard) {
+            return bitsetBoard.getEscapeDistance(currentPosition) != EscapeDistanceField.UNREACHABLE;
+        }
+        // Búsqueda multi-objetivo: cualquier celda libre del borde sirve
+        return HexSearchEngine.shared().canReachBorder(board, currentPosition);
+    }
+
+    @Override
+    public List<HexPosition> getFullPath(GameBoard<HexPosition> board, HexPosition currentPosition,
+                                         HexPosition targetPosition) {
+        // BFS bidireccional: se expande desde ambos extremos hasta encontrarse
+        return HexSearchEngine.shared().shortestPath(board, currentPosition, targetPosition);
+    }
+
+    /**
+     * Elige el candidato más cercano al borde según el campo de distancias del tablero.
+     * En caso de empate gana el primero, igual que el BFS por candidato.
+     */
+    private Optional<HexPosition> selectByDistanceField(List<HexPosition> possibleMoves,
+                                                        BitsetHexGameBoard bitsetBoard) {
+        HexPosition bestMove = null;
+        int bestDistance = EscapeDistanceField.UNREACHABLE;
+        for (HexPosition move : possibleMoves) {
+            int distance = bitsetBoard.getEscapeDistance(move);
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                bestMove = move;
+            }
+        }
+        return Optional.ofNullable(bestMove);
+    }
+
+    /**
+     * BFS desde una posición hasta encontrar objetivo.
+     */
+    private Optional<List<HexPosition>> bfsToGoal(GameBoard<HexPosition> board, HexPosition start) {
+        Predicate<HexPosition> isGoal = getGoalPredicate(board);
+        Queue<HexPosition> queue = new LinkedList<>();
+        Map<HexPosition, HexPosition> parent = new HashMap<>();
+        Set<HexPosition> visited = new HashSet<>();
+
+        queue.add(start);
+        visited.add(start);
+        parent.put(start, null);
+
+        while (!queue.isEmpty()) {
+            HexPosition current = queue.poll();
+
+            if (isGoal.test(current)) {
+                // Reconstruye el camino desde start hasta current
+                List<HexPosition> path = new LinkedList<>();
+                HexPosition step = current;
+                while (step != null) {
+                    path.add(0, step);
+                    step = parent.get(step);
+                }
+                return Optional.of(path);
+            }
+
+            for (HexPosition neighbor : board.getAdjacentPositions(current)) {
+                if (!board.isBlocked(neighbor) && !visited.contains(neighbor)) {
+                    queue.add(neighbor);
+                    visited.add(neighbor);
+                    parent.put(neighbor, current);
+                }
+            }
+        }
+        // No se encontró camino al objetivo
+        return Optional.empty();
+    }
+}
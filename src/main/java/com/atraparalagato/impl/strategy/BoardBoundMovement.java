@@ -0,0 +1,73 @@
+package com.atraparalagato.impl.strategy;
+
+import com.atraparalagato.base.model.GameBoard;
+import com.atraparalagato.base.strategy.CatMovementStrategy;
+import com.atraparalagato.impl.model.HexPosition;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Adaptador de compatibilidad: una HexMovementStrategy sin estado fijada a un
+ * tablero, con la API de CatMovementStrategy.
+ *
+ * Solo guarda el tablero y la estrategia compartida, así que crearlo es
+ * barato; toda la lógica sigue en la estrategia.
+ */
+public class BoardBoundMovement extends CatMovementStrategy<HexPosition> {
+
+    private final HexMovementStrategy strategy;
+
+    public BoardBoundMovement(HexMovementStrategy strategy, GameBoard<HexPosition> board) {
+        super(board);
+        this.strategy = strategy;
+    }
+
+    public HexMovementStrategy getStrategy() {
+        return strategy;
+    }
+
+    @Override
+    public List<HexPosition> getPossibleMoves(HexPosition currentPosition) {
+        return strategy.getPossibleMoves(board, currentPosition);
+    }
+
+    @Override
+    protected Optional<HexPosition> selectBestMove(List<HexPosition> possibleMoves,
+                                                   HexPosition currentPosition,
+                                                   HexPosition targetPosition) {
+        return strategy.selectBestMove(board, possibleMoves, currentPosition, targetPosition);
+    }
+
+    @Override
+    protected Function<HexPosition, Double> getHeuristicFunction(HexPosition targetPosition) {
+        return strategy.getHeuristicFunction(board, targetPosition);
+    }
+
+    @Override
+    protected Predicate<HexPosition> getGoalPredicate() {
+        return strategy.getGoalPredicate(board);
+    }
+
+    @Override
+    protected double getMoveCost(HexPosition from, HexPosition to) {
+        return strategy.getMoveCost(from, to);
+    }
+
+    @Override
+    public boolean hasPathToGoal(HexPosition currentPosition) {
+        return strategy.hasPathToGoal(board, currentPosition);
+    }
+
+    @Override
+    public List<HexPosition> getFullPath(HexPosition currentPosition, HexPosition targetPosition) {
+        return strategy.getFullPath(board, currentPosition, targetPosition);
+    }
+
+    public Optional<HexPosition> getNextMove(HexPosition catPosition, HexPosition targetPosition) {
+        List<HexPosition> possibleMoves = getPossibleMoves(catPosition);
+        return selectBestMove(possibleMoves, catPosition, targetPosition);
+    }
+}
@@ -0,0 +1,96 @@
+package com.atraparalagato.impl.strategy;
+
+import com.atraparalagato.base.model.GameBoard;
+import com.atraparalagato.base.strategy.CatMovementStrategy;
+import com.atraparalagato.impl.model.HexPosition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Estrategia de movimiento del gato sin estado: el tablero se recibe en cada
+ * llamada en lugar de fijarse al construirla.
+ *
+ * Las implementaciones (BFSEscapeStrategy, AStarEscapeStrategy) son
+ * singletons seguros para usar desde varios hilos; los arreglos de búsqueda
+ * salen de un pool compartido ({@link HexSearchWorkspace#acquire()}), que
+ * sirve igual a hilos de plataforma y virtuales. Así el servicio no crea una
+ * estrategia ni arreglos de búsqueda por movimiento.
+ *
+ * Donde se necesita un {@link CatMovementStrategy} (la API de la clase base),
+ * {@link #bindTo(GameBoard)} la adapta a un tablero concreto.
+ */
+public interface HexMovementStrategy {
+
+    /**
+     * Mismo flujo que CatMovementStrategy.findBestMove: movimientos posibles y
+     * elección del mejor.
+     */
+    default Optional<HexPosition> findBestMove(GameBoard<HexPosition> board,
+                                               HexPosition currentPosition,
+                                               HexPosition targetPosition) {
+        List<HexPosition> possibleMoves = getPossibleMoves(board, currentPosition);
+        if (possibleMoves.isEmpty()) {
+            return Optional.empty();
+        }
+        return selectBestMove(board, possibleMoves, currentPosition, targetPosition);
+    }
+
+    /**
+     * Vecinos de currentPosition que no están bloqueados.
+     */
+    default List<HexPosition> getPossibleMoves(GameBoard<HexPosition> board, HexPosition currentPosition) {
+        List<HexPosition> moves = new ArrayList<>(6);
+        for (HexPosition neighbor : board.getAdjacentPositions(currentPosition)) {
+            if (!board.isBlocked(neighbor)) {
+                moves.add(neighbor);
+            }
+        }
+        return moves;
+    }
+
+    Optional<HexPosition> selectBestMove(GameBoard<HexPosition> board,
+                                         List<HexPosition> possibleMoves,
+                                         HexPosition currentPosition,
+                                         HexPosition targetPosition);
+
+    boolean hasPathToGoal(GameBoard<HexPosition> board, HexPosition currentPosition);
+
+    /**
+     * Camino completo de currentPosition a targetPosition, o lista vacía si no hay.
+     */
+    List<HexPosition> getFullPath(GameBoard<HexPosition> board, HexPosition currentPosition,
+                                  HexPosition targetPosition);
+
+    default Function<HexPosition, Double> getHeuristicFunction(GameBoard<HexPosition> board,
+                                                               HexPosition targetPosition) {
+        return position -> 0.0;
+    }
+
+    /**
+     * El objetivo es llegar al borde del tablero.
+     */
+    default Predicate<HexPosition> getGoalPredicate(GameBoard<HexPosition> board) {
+        int boardSize = board.getSize();
+        return position -> Math.abs(position.getQ()) >= boardSize ||
+                           Math.abs(position.getR()) >= boardSize ||
+                           Math.abs(position.getS()) >= boardSize;
+    }
+
+    /**
+     * Costo uniforme para movimientos adyacentes.
+     */
+    default double getMoveCost(HexPosition from, HexPosition to) {
+        return 1.0;
+    }
+
+    /**
+     * Adaptador a la API de CatMovementStrategy para un tablero dado.
+     */
+    default CatMovementStrategy<HexPosition> bindTo(GameBoard<HexPosition> board) {
+        return new BoardBoundMovement(this, board);
+    }
+}
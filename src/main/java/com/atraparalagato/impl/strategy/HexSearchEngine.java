@@ -0,0 +1,308 @@
+package com.atraparalagato.impl.strategy;
+
+import com.atraparalagato.base.model.GameBoard;
+import com.atraparalagato.impl.model.BitsetHexGameBoard;
+import com.atraparalagato.impl.model.EscapeDistanceField;
+import com.atraparalagato.impl.model.HexBoardIndex;
+import com.atraparalagato.impl.model.HexPosition;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Motor de búsqueda de caminos para tableros hexagonales.
+ *
+ * Ofrece dos búsquedas que las estrategias pueden delegar:
+ * - BFS bidireccional entre dos celdas: expande por niveles la frontera más
+ *   pequeña desde cada extremo hasta que se encuentran, visitando muchas menos
+ *   celdas que un BFS desde el origen.
+ * - Búsqueda multi-objetivo hacia el borde: cualquier celda libre del borde es
+ *   objetivo. Con un BitsetHexGameBoard basta seguir el gradiente de su campo
+ *   de distancias de escape; en otro tablero se usa un BFS que para en el
+ *   primer borde alcanzado.
+ *
+ * Trabaja sobre los índices densos del tablero y usa un {@link HexSearchWorkspace}
+ * reutilizable, así que no crea colecciones por llamada salvo la lista del
+ * camino devuelto. El motor de {@link #shared()} toma un espacio de trabajo del
+ * pool compartido en cada llamada y lo devuelve al terminar, así que se puede
+ * compartir entre hilos.
+ */
+public class HexSearchEngine {
+
+    private static final HexSearchEngine SHARED = new HexSearchEngine(null);
+
+    // null: un espacio de trabajo del pool por llamada
+    private final HexSearchWorkspace workspace;
+
+    public HexSearchEngine() {
+        this(new HexSearchWorkspace());
+    }
+
+    public HexSearchEngine(HexSearchWorkspace workspace) {
+        this.workspace = workspace;
+    }
+
+    /**
+     * Motor sin estado propio, seguro para usar desde varios hilos.
+     */
+    public static HexSearchEngine shared() {
+        return SHARED;
+    }
+
+    private HexSearchWorkspace borrow() {
+        return workspace != null ? workspace : HexSearchWorkspace.acquire();
+    }
+
+    private void giveBack(HexSearchWorkspace ws) {
+        if (workspace == null) {
+            HexSearchWorkspace.release(ws);
+        }
+    }
+
+    /**
+     * Camino más corto de start a target (ambos incluidos), o lista vacía si no existe.
+     */
+    public List<HexPosition> shortestPath(GameBoard<HexPosition> board, HexPosition start, HexPosition target) {
+        HexBoardIndex index = indexFor(board);
+        int startCell = index.indexOf(start);
+        int targetCell = index.indexOf(target);
+        if (startCell < 0 || targetCell < 0 || isBlockedCell(board, index, targetCell)) {
+            return Collections.emptyList();
+        }
+        if (startCell == targetCell) {
+            return List.of(start);
+        }
+
+        HexSearchWorkspace ws = borrow();
+        try {
+            return bidirectionalSearch(board, index, startCell, targetCell, ws);
+        } finally {
+            giveBack(ws);
+        }
+    }
+
+    /**
+     * Camino más corto de start a la celda libre del borde más cercana, o lista
+     * vacía si el borde es inalcanzable.
+     */
+    public List<HexPosition> shortestPathToBorder(GameBoard<HexPosition> board, HexPosition start) {
+        HexBoardIndex index = indexFor(board);
+        int startCell = index.indexOf(start);
+        if (startCell < 0) {
+            return Collections.emptyList();
+        }
+        HexSearchWorkspace ws = borrow();
+        try {
+            if (board instanceof BitsetHexGameBoard bitsetBoard) {
+                return followEscapeGradient(bitsetBoard, index, startCell, ws);
+            }
+
+            int borderCell = bfsToBorder(board, index, startCell, ws);
+            if (borderCell < 0) {
+                return Collections.emptyList();
+            }
+            int[] parent = ws.parent;
+            List<HexPosition> path = new ArrayList<>();
+            for (int cell = borderCell; cell >= 0; cell = parent[cell]) {
+                path.add(index.positionAt(cell));
+            }
+            Collections.reverse(path);
+            return path;
+        } finally {
+            giveBack(ws);
+        }
+    }
+
+    /**
+     * Verifica si desde start se puede llegar a alguna celda libre del borde.
+     */
+    public boolean canReachBorder(GameBoard<HexPosition> board, HexPosition start) {
+        HexBoardIndex index = indexFor(board);
+        int startCell = index.indexOf(start);
+        if (startCell < 0) {
+            return false;
+        }
+        if (board instanceof BitsetHexGameBoard bitsetBoard) {
+            return bitsetBoard.getEscapeDistanceAt(startCell) != EscapeDistanceField.UNREACHABLE;
+        }
+        HexSearchWorkspace ws = borrow();
+        try {
+            return bfsToBorder(board, index, startCell, ws) >= 0;
+        } finally {
+            giveBack(ws);
+        }
+    }
+
+    /**
+     * BFS bidireccional: expande por niveles la frontera más pequeña hasta
+     * que se encuentran.
+     */
+    private List<HexPosition> bidirectionalSearch(GameBoard<HexPosition> board, HexBoardIndex index,
+                                                  int startCell, int targetCell, HexSearchWorkspace ws) {
+        int visit = ws.begin(index);
+        int forwardHead = 0;
+        int forwardTail = 0;
+        int backwardHead = 0;
+        int backwardTail = 0;
+
+        ws.queue[forwardTail++] = startCell;
+        ws.seen[startCell] = visit;
+        ws.parent[startCell] = -1;
+        ws.depth[startCell] = 0;
+
+        ws.backwardQueue[backwardTail++] = targetCell;
+        ws.backwardSeen[targetCell] = visit;
+        ws.backwardParent[targetCell] = -1;
+        ws.backwardDepth[targetCell] = 0;
+
+        while (forwardHead < forwardTail && backwardHead < backwardTail) {
+            boolean forward = forwardTail - forwardHead <= backwardTail - backwardHead;
+            int[] queue = forward ? ws.queue : ws.backwardQueue;
+            int[] seen = forward ? ws.seen : ws.backwardSeen;
+            int[] parent = forward ? ws.parent : ws.backwardParent;
+            int[] depth = forward ? ws.depth : ws.backwardDepth;
+            int[] otherSeen = forward ? ws.backwardSeen : ws.seen;
+            int[] otherDepth = forward ? ws.backwardDepth : ws.depth;
+            int head = forward ? forwardHead : backwardHead;
+            int tail = forward ? forwardTail : backwardTail;
+
+            // Expandir un nivel completo y quedarse con el encuentro más corto
+            int levelEnd = tail;
+            int bestLength = Integer.MAX_VALUE;
+            int meetHere = -1;
+            int meetOther = -1;
+            while (head < levelEnd) {
+                int current = queue[head++];
+                int count = freeNeighbors(board, index, current, ws.neighborBuffer);
+                for (int i = 0; i < count; i++) {
+                    int neighbor = ws.neighborBuffer[i];
+                    if (otherSeen[neighbor] == visit) {
+                        int length = depth[current] + 1 + otherDepth[neighbor];
+                        if (length < bestLength) {
+                            bestLength = length;
+                            meetHere = current;
+                            meetOther = neighbor;
+                        }
+                    }
+                    if (seen[neighbor] != visit) {
+                        seen[neighbor] = visit;
+                        parent[neighbor] = current;
+                        depth[neighbor] = depth[current] + 1;
+                        queue[tail++] = neighbor;
+                    }
+                }
+            }
+
+            if (meetHere >= 0) {
+                return forward
+                        ? joinPath(ws, index, meetHere, meetOther)
+                        : joinPath(ws, index, meetOther, meetHere);
+            }
+
+            if (forward) {
+                forwardHead = head;
+                forwardTail = tail;
+            } else {
+                backwardHead = head;
+                backwardTail = tail;
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    // Utilidades compartidas con las estrategias
+
+    static HexBoardIndex indexFor(GameBoard<HexPosition> board) {
+        return board instanceof BitsetHexGameBoard bitsetBoard
+                ? bitsetBoard.getIndex()
+                : HexBoardIndex.forSize(board.getSize());
+    }
+
+    static boolean isBlockedCell(GameBoard<HexPosition> board, HexBoardIndex index, int cell) {
+        if (board instanceof BitsetHexGameBoard bitsetBoard) {
+            return bitsetBoard.isBlockedCell(cell);
+        }
+        return board.isBlocked(index.positionAt(cell));
+    }
+
+    static int freeNeighbors(GameBoard<HexPosition> board, HexBoardIndex index, int cell, int[] out) {
+        if (board instanceof BitsetHexGameBoard bitsetBoard) {
+            return bitsetBoard.getFreeNeighbors(cell, out);
+        }
+        int count = 0;
+        for (int dir = 0; dir < HexBoardIndex.DIRECTIONS; dir++) {
+            int neighbor = index.neighbor(cell, dir);
+            if (neighbor >= 0 && !board.isBlocked(index.positionAt(neighbor))) {
+                out[count++] = neighbor;
+            }
+        }
+        return count;
+    }
+
+    // Métodos auxiliares
+
+    private int bfsToBorder(GameBoard<HexPosition> board, HexBoardIndex index, int startCell,
+                            HexSearchWorkspace ws) {
+        int visit = ws.begin(index);
+        int head = 0;
+        int tail = 0;
+        ws.queue[tail++] = startCell;
+        ws.seen[startCell] = visit;
+        ws.parent[startCell] = -1;
+
+        while (head < tail) {
+            int current = ws.queue[head++];
+            if (index.isBorder(current)) {
+                return current;
+            }
+            int count = freeNeighbors(board, index, current, ws.neighborBuffer);
+            for (int i = 0; i < count; i++) {
+                int neighbor = ws.neighborBuffer[i];
+                if (ws.seen[neighbor] != visit) {
+                    ws.seen[neighbor] = visit;
+                    ws.parent[neighbor] = current;
+                    ws.queue[tail++] = neighbor;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private List<HexPosition> followEscapeGradient(BitsetHexGameBoard board, HexBoardIndex index, int startCell,
+                                                   HexSearchWorkspace ws) {
+        int distance = board.getEscapeDistanceAt(startCell);
+        if (distance == EscapeDistanceField.UNREACHABLE) {
+            return Collections.emptyList();
+        }
+        int[] neighborBuffer = ws.neighborBuffer;
+        List<HexPosition> path = new ArrayList<>(distance + 1);
+        int current = startCell;
+        path.add(index.positionAt(current));
+        while (distance > 0) {
+            int count = board.getFreeNeighbors(current, neighborBuffer);
+            for (int i = 0; i < count; i++) {
+                int neighbor = neighborBuffer[i];
+                if (board.getEscapeDistanceAt(neighbor) == distance - 1) {
+                    current = neighbor;
+                    break;
+                }
+            }
+            path.add(index.positionAt(current));
+            distance--;
+        }
+        return path;
+    }
+
+    private List<HexPosition> joinPath(HexSearchWorkspace ws, HexBoardIndex index, int forwardCell, int backwardCell) {
+        List<HexPosition> path = new ArrayList<>();
+        for (int cell = forwardCell; cell >= 0; cell = ws.parent[cell]) {
+            path.add(index.positionAt(cell));
+        }
+        Collections.reverse(path);
+        for (int cell = backwardCell; cell >= 0; cell = ws.backwardParent[cell]) {
+            path.add(index.positionAt(cell));
+        }
+        return path;
+    }
+}
@@ -0,0 +1,103 @@
+package com.atraparalagato.impl.strategy;
+
+import com.atraparalagato.impl.model.HexBoardIndex;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Espacio de trabajo reutilizable para las búsquedas sobre tableros hexagonales.
+ *
+ * Agrupa los arreglos por celda que necesitan BFS, BFS bidireccional y A*
+ * (colas, padres, marcas de visita, costos y el montículo indexado). Los
+ * arreglos crecen hasta el tablero más grande visto y se reutilizan en cada
+ * búsqueda, aunque se alternen tableros de distinto tamaño; las marcas de
+ * visita usan un sello que se incrementa por búsqueda, así que no hace falta
+ * limpiar los arreglos entre llamadas.
+ *
+ * No es thread-safe: una búsqueda toma un espacio de trabajo con
+ * {@link #acquire()} y lo devuelve con {@link #release(HexSearchWorkspace)} en
+ * un finally. El pool es compartido por todos los hilos, así que hilos de
+ * plataforma y virtuales reutilizan los mismos arreglos en lugar de crearlos
+ * por hilo o por pedido.
+ */
+public class HexSearchWorkspace {
+
+    // Las búsquedas no bloquean, así que rara vez hay más en curso que
+    // procesadores; lo que exceda el límite se descarta al devolverlo
+    private static final int POOL_LIMIT = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+    private static final ConcurrentLinkedQueue<HexSearchWorkspace> POOL = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger POOLED = new AtomicInteger();
+
+    int[] queue;
+    int[] backwardQueue;
+    int[] parent;
+    int[] backwardParent;
+    int[] depth;
+    int[] backwardDepth;
+    int[] seen;
+    int[] backwardSeen;
+    int[] closed;
+    double[] gScore;
+    IndexedMinHeap openSet;
+    final int[] neighborBuffer = new int[HexBoardIndex.DIRECTIONS];
+
+    private int stamp;
+
+    /**
+     * Toma un espacio de trabajo libre del pool compartido, o crea uno si no
+     * hay. Lo usan las estrategias sin estado (BFSEscapeStrategy,
+     * AStarEscapeStrategy) y el motor de {@link HexSearchEngine#shared()}.
+     */
+    public static HexSearchWorkspace acquire() {
+        HexSearchWorkspace workspace = POOL.poll();
+        if (workspace == null) {
+            return new HexSearchWorkspace();
+        }
+        POOLED.decrementAndGet();
+        return workspace;
+    }
+
+    /**
+     * Devuelve al pool un espacio de trabajo de {@link #acquire()}. No se debe
+     * seguir usando después.
+     */
+    public static void release(HexSearchWorkspace workspace) {
+        if (POOLED.incrementAndGet() <= POOL_LIMIT) {
+            POOL.offer(workspace);
+        } else {
+            POOLED.decrementAndGet();
+        }
+    }
+
+    /**
+     * Prepara los arreglos para el índice dado y devuelve un sello de visita nuevo.
+     * Una celda está visitada en la búsqueda actual si seen[cell] == sello.
+     */
+    int begin(HexBoardIndex boardIndex) {
+        int cellCount = boardIndex.getCellCount();
+        if (queue == null || queue.length < cellCount) {
+            queue = new int[cellCount];
+            backwardQueue = new int[cellCount];
+            parent = new int[cellCount];
+            backwardParent = new int[cellCount];
+            depth = new int[cellCount];
+            backwardDepth = new int[cellCount];
+            seen = new int[cellCount];
+            backwardSeen = new int[cellCount];
+            closed = new int[cellCount];
+            gScore = new double[cellCount];
+            openSet = new IndexedMinHeap(cellCount);
+            stamp = 0;
+        }
+        if (++stamp == 0) {
+            Arrays.fill(seen, 0);
+            Arrays.fill(backwardSeen, 0);
+            Arrays.fill(closed, 0);
+            stamp = 1;
+        }
+        openSet.clear();
+        return stamp;
+    }
+}
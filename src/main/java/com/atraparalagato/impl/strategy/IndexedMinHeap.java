@@ -0,0 +1,138 @@
+package com.atraparalagato.impl.strategy;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Montículo binario de mínimos indexado por celda.
+ *
+ * Los elementos son índices de celda en [0, capacity) y las prioridades son
+ * double primitivos, así que no se crean nodos ni se hace boxing. Cada celda
+ * aparece como mucho una vez: insertOrDecrease() la inserta o, si ya está,
+ * reduce su prioridad en O(log n) en lugar de añadir un duplicado.
+ *
+ * Pensado para reutilizarse entre búsquedas: clear() solo cuesta lo que
+ * quedaba dentro del montículo.
+ */
+public class IndexedMinHeap {
+
+    private final int[] heap;      // posición -> celda
+    private final int[] positions; // celda -> posición en el montículo o -1
+    private final double[] keys;   // celda -> prioridad
+    private int size;
+
+    public IndexedMinHeap(int capacity) {
+        this.heap = new int[capacity];
+        this.positions = new int[capacity];
+        this.keys = new double[capacity];
+        Arrays.fill(positions, -1);
+    }
+
+    public int capacity() {
+        return heap.length;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(int cell) {
+        return positions[cell] >= 0;
+    }
+
+    /**
+     * Prioridad actual de una celda contenida en el montículo.
+     */
+    public double keyOf(int cell) {
+        return keys[cell];
+    }
+
+    /**
+     * Inserta la celda o reduce su prioridad si la nueva es menor.
+     * Devuelve true si el montículo cambió.
+     */
+    public boolean insertOrDecrease(int cell, double key) {
+        int position = positions[cell];
+        if (position < 0) {
+            keys[cell] = key;
+            heap[size] = cell;
+            positions[cell] = size;
+            siftUp(size++);
+            return true;
+        }
+        if (key < keys[cell]) {
+            keys[cell] = key;
+            siftUp(position);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Extrae la celda de menor prioridad.
+     */
+    public int poll() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        int top = heap[0];
+        positions[top] = -1;
+        if (--size > 0) {
+            int last = heap[size];
+            heap[0] = last;
+            positions[last] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int position) {
+        int cell = heap[position];
+        double key = keys[cell];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            int parentCell = heap[parent];
+            if (keys[parentCell] <= key) {
+                break;
+            }
+            heap[position] = parentCell;
+            positions[parentCell] = position;
+            position = parent;
+        }
+        heap[position] = cell;
+        positions[cell] = position;
+    }
+
+    private void siftDown(int position) {
+        int cell = heap[position];
+        double key = keys[cell];
+        int half = size >>> 1;
+        while (position < half) {
+            int child = 2 * position + 1;
+            int right = child + 1;
+            if (right < size && keys[heap[right]] < keys[heap[child]]) {
+                child = right;
+            }
+            int childCell = heap[child];
+            if (key <= keys[childCell]) {
+                break;
+            }
+            heap[position] = childCell;
+            positions[childCell] = position;
+            position = child;
+        }
+        heap[position] = cell;
+        positions[cell] = position;
+    }
+}
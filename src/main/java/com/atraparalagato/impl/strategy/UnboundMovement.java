@@ -0,0 +1,68 @@
+package com.atraparalagato.impl.strategy;
+
+import com.atraparalagato.base.strategy.CatMovementStrategy;
+import com.atraparalagato.impl.model.HexPosition;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * CatMovementStrategy sin tablero para el constructor de GameService.
+ *
+ * El servicio mueve al gato con una HexMovementStrategy sobre el tablero de
+ * cada partida, así que la estrategia de la clase base no tiene tablero al
+ * que fijarse. Cualquier uso falla con IllegalStateException en lugar de
+ * calcular sobre un tablero que no es el de la partida.
+ */
+public final class UnboundMovement extends CatMovementStrategy<HexPosition> {
+
+    public static final UnboundMovement INSTANCE = new UnboundMovement();
+
+    private UnboundMovement() {
+        super(null);
+    }
+
+    @Override
+    protected List<HexPosition> getPossibleMoves(HexPosition currentPosition) {
+        throw unbound();
+    }
+
+    @Override
+    protected Optional<HexPosition> selectBestMove(List<HexPosition> possibleMoves,
+                                                   HexPosition currentPosition,
+                                                   HexPosition targetPosition) {
+        throw unbound();
+    }
+
+    @Override
+    protected Function<HexPosition, Double> getHeuristicFunction(HexPosition targetPosition) {
+        throw unbound();
+    }
+
+    @Override
+    protected Predicate<HexPosition> getGoalPredicate() {
+        throw unbound();
+    }
+
+    @Override
+    protected double getMoveCost(HexPosition from, HexPosition to) {
+        throw unbound();
+    }
+
+    @Override
+    public boolean hasPathToGoal(HexPosition currentPosition) {
+        throw unbound();
+    }
+
+    @Override
+    public List<HexPosition> getFullPath(HexPosition currentPosition, HexPosition targetPosition) {
+        throw unbound();
+    }
+
+    private static IllegalStateException unbound() {
+        return new IllegalStateException(
+                "Estrategia sin tablero: usar HexMovementStrategy con el tablero de la partida o bindTo(board)");
+    }
+}
@@ -0,0 +1,133 @@
+package com.atraparalagato.impl.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para el tablero respaldado por bitset.
+ * Verifica que se comporta igual que HexGameBoard.
+ */
+class BitsetHexGameBoardTest {
+
+    @Test
+    void testIndexCoversAllCellsOnce() {
+        // Test: cada celda dentro del tablero tiene un índice único y reversible
+        HexBoardIndex index = HexBoardIndex.forSize(5);
+        Set<Integer> seen = new HashSet<>();
+
+        for (int q = -5; q <= 5; q++) {
+            for (int r = -5; r <= 5; r++) {
+                HexPosition pos = new HexPosition(q, r);
+                int cell = index.indexOf(q, r);
+                assertEquals(pos.isWithinBounds(5), cell >= 0);
+                if (cell >= 0) {
+                    assertTrue(seen.add(cell));
+                    assertEquals(pos, index.positionAt(cell));
+                    assertEquals(Math.abs(q) == 5 || Math.abs(r) == 5 || Math.abs(pos.getS()) == 5,
+                                 index.isBorder(cell));
+                }
+            }
+        }
+        assertEquals(index.getCellCount(), seen.size());
+        assertSame(index, HexBoardIndex.forSize(5));
+    }
+
+    @Test
+    void testSameBehaviourAsHashSetBoard() {
+        // Test: la misma secuencia de movimientos produce el mismo estado
+        Random random = new Random(42);
+        HexGameBoard reference = new HexGameBoard(6);
+        BitsetHexGameBoard board = new BitsetHexGameBoard(6);
+
+        for (int i = 0; i < 200; i++) {
+            HexPosition pos = new HexPosition(random.nextInt(15) - 7, random.nextInt(15) - 7);
+            assertEquals(reference.isPositionInBounds(pos), board.isPositionInBounds(pos));
+            assertEquals(reference.makeMove(pos), board.makeMove(pos));
+            assertEquals(reference.isBlocked(pos), board.isBlocked(pos));
+        }
+
+        assertEquals(reference.getBlockedPositions(), board.getBlockedPositions());
+        assertEquals(reference.getBlockedPositions().size(), board.getBlockedCount());
+
+        HexPosition center = new HexPosition(0, 0);
+        assertEquals(Set.copyOf(reference.getAdjacentPositions(center)),
+                     Set.copyOf(board.getAdjacentPositions(center)));
+    }
+
+    @Test
+    void testFreeNeighborsMatchAdjacentPositions() {
+        // Test: la tabla de adyacencia coincide con getAdjacentPositions en todas las celdas
+        BitsetHexGameBoard board = new BitsetHexGameBoard(4);
+        board.makeMove(new HexPosition(1, 0));
+        board.makeMove(new HexPosition(0, 1));
+        HexBoardIndex index = board.getIndex();
+        int[] buffer = new int[HexBoardIndex.DIRECTIONS];
+
+        for (int cell = 0; cell < index.getCellCount(); cell++) {
+            HexPosition pos = index.positionAt(cell);
+            int count = board.getFreeNeighbors(cell, buffer);
+            List<HexPosition> adjacent = board.getAdjacentPositions(pos);
+
+            assertEquals(adjacent.size(), count);
+            for (int i = 0; i < count; i++) {
+                assertEquals(adjacent.get(i), index.positionAt(buffer[i]));
+            }
+            assertEquals(new HexGameBoard(4).getAdjacentPositions(pos).size(),
+                         countInBoundsNeighbors(index, cell));
+        }
+    }
+
+    private int countInBoundsNeighbors(HexBoardIndex index, int cell) {
+        int count = 0;
+        for (int dir = 0; dir < HexBoardIndex.DIRECTIONS; dir++) {
+            if (index.neighbor(cell, dir) >= 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Test
+    void testIncrementalEscapeDistancesMatchFullRecompute() {
+        // Test: tras cada bloqueo, el campo reparado coincide con uno recalculado desde cero
+        Random random = new Random(11);
+
+        for (int game = 0; game < 30; game++) {
+            int size = 3 + random.nextInt(8);
+            BitsetHexGameBoard board = new BitsetHexGameBoard(size);
+            HexBoardIndex index = board.getIndex();
+            board.getEscapeDistanceAt(0); // fuerza el cálculo inicial
+
+            for (int move = 0; move < index.getCellCount(); move++) {
+                int cell = random.nextInt(index.getBorderStart());
+                if (!board.makeMove(index.positionAt(cell))) {
+                    continue;
+                }
+                EscapeDistanceField expected = new EscapeDistanceField();
+                expected.compute(board);
+                for (int c = 0; c < index.getCellCount(); c++) {
+                    assertEquals(expected.distanceAt(c), board.getEscapeDistanceAt(c),
+                                 "celda " + index.positionAt(c) + " tras bloquear " + index.positionAt(cell));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testBorderCannotBeBlocked() {
+        // Test: el jugador no puede bloquear el borde ni fuera del tablero
+        BitsetHexGameBoard board = new BitsetHexGameBoard(3);
+
+        assertFalse(board.makeMove(new HexPosition(3, 0)));
+        assertFalse(board.makeMove(new HexPosition(4, 0)));
+        assertTrue(board.makeMove(new HexPosition(1, 0)));
+        assertFalse(board.makeMove(new HexPosition(1, 0)));
+        assertEquals(List.of(new HexPosition(1, 0)), List.copyOf(board.getBlockedPositions()));
+    }
+}
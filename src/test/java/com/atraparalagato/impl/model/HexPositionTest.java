@@ -1,5 +1,6 @@
 package com.atraparalagato.impl.model;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import static org.junit.jupiter.api.Assertions.*;
@@ -133,6 +134,29 @@ class HexPositionTest {
         assertNotEquals(origin, "not a position");
     }
     
+    @Test
+    void testCanonicalInstances() {
+        // Test: of() devuelve la misma instancia dentro del pool y una nueva fuera
+        assertSame(HexPosition.of(2, -1), HexPosition.of(2, -1));
+        assertSame(HexPosition.of(1, 0), origin.add(adjacent));
+        assertEquals(new HexPosition(2, -1), HexPosition.of(2, -1));
+        
+        int outside = HexPosition.POOL_RADIUS + 1;
+        HexPosition far = HexPosition.of(outside, 0);
+        assertEquals(outside, far.getQ());
+        assertEquals(far, HexPosition.of(outside, 0));
+        assertNotSame(far, HexPosition.of(outside, 0));
+    }
+    
+    @Test
+    void testJsonDeserializationUsesPool() throws Exception {
+        // Test: Jackson crea posiciones a través de of()
+        ObjectMapper mapper = new ObjectMapper();
+        String json = mapper.writeValueAsString(HexPosition.of(3, -2));
+        
+        assertSame(HexPosition.of(3, -2), mapper.readValue(json, HexPosition.class));
+    }
+    
     @Test
     void testToString() {
         // Test: Representación en string
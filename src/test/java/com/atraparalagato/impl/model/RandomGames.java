@@ -0,0 +1,51 @@
+package com.atraparalagato.impl.model;
+
+import java.util.Random;
+
+/**
+ * Partidas y tableros aleatorios para los tests. Con el mismo Random se
+ * obtienen siempre los mismos resultados.
+ */
+public final class RandomGames {
+
+    private RandomGames() {
+    }
+
+    /**
+     * Partida de tamaño 3 a 10 con hasta 3 * size jugadas al azar; a veces el
+     * gato avanza al primer vecino libre. Se detiene si la partida termina.
+     */
+    public static HexGameState randomGame(String id, Random random) {
+        int size = 3 + random.nextInt(8);
+        HexGameState game = new HexGameState(id, size);
+        int moves = random.nextInt(3 * size);
+        for (int i = 0; i < moves && !game.isGameFinished(); i++) {
+            int q = random.nextInt(2 * size - 1) - size + 1;
+            int r = random.nextInt(2 * size - 1) - size + 1;
+            game.executeMove(HexPosition.of(q, r));
+            if (random.nextBoolean()) {
+                game.getGameBoard().getAdjacentPositions(game.getCatPosition()).stream()
+                        .filter(position -> !game.getGameBoard().isBlocked(position))
+                        .findFirst()
+                        .ifPresent(game::setCatPosition);
+            }
+        }
+        return game;
+    }
+
+    /**
+     * Tablero con cada celda (salvo el centro, donde está el gato) bloqueada
+     * con probabilidad density.
+     */
+    public static BitsetHexGameBoard randomBoard(int size, double density, Random random) {
+        BitsetHexGameBoard board = new BitsetHexGameBoard(size);
+        for (int q = -size + 1; q < size; q++) {
+            for (int r = -size + 1; r < size; r++) {
+                if ((q != 0 || r != 0) && random.nextDouble() < density) {
+                    board.makeMove(HexPosition.of(q, r));
+                }
+            }
+        }
+        return board;
+    }
+}
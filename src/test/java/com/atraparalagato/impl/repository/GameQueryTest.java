@@ -0,0 +1,121 @@
+package com.atraparalagato.impl.repository;
+
+import com.atraparalagato.base.model.GameState.GameStatus;
+import com.atraparalagato.impl.model.HexGameState;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para GameQuery y su traducción a SQL en H2GameRepository.
+ * Propiedad: el WHERE generado selecciona las mismas partidas que test().
+ */
+class GameQueryTest {
+
+    private H2GameRepository repository;
+    private String url;
+    private List<HexGameState> games;
+
+    @BeforeEach
+    void setUp() {
+        url = "jdbc:h2:mem:test-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        repository = new H2GameRepository(H2PoolSettings.from(Map.of("game.h2.url", url)::get));
+
+        Random random = new Random(23);
+        GameStatus[] statuses = GameStatus.values();
+        games = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            HexGameState game = new HexGameState("game-" + i, 3 + random.nextInt(8));
+            game.setPlayerId(random.nextInt(4) == 0 ? null : "player-" + random.nextInt(3));
+            game.restoreState(game.getCatPosition(), statuses[random.nextInt(statuses.length)],
+                    random.nextInt(30), new long[0]);
+            games.add(game);
+        }
+        repository.saveAll(games);
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.close();
+    }
+
+    @Test
+    void testSqlMatchesInMemoryEvaluation() {
+        // Test: findWhere y countWhere en SQL coinciden con filtrar en memoria
+        List<GameQuery> queries = List.of(
+                GameQuery.status(GameStatus.PLAYER_WON).and(GameQuery.boardSize().gte(7)),
+                GameQuery.moveCount().between(5, 12).or(GameQuery.score().gt(900)),
+                GameQuery.playerId("player-1").negate(),
+                GameQuery.playerId(null),
+                GameQuery.where(GameQuery.Field.PLAYER_ID, GameQuery.Operator.NE, "player-2"),
+                GameQuery.anyOf(GameQuery.gameId("game-3"), GameQuery.gameId("game-40"), GameQuery.gameId("missing")),
+                GameQuery.allOf(GameQuery.boardSize().ne(5), GameQuery.status(GameStatus.IN_PROGRESS).negate(),
+                        GameQuery.playerId("player-0").or(GameQuery.score().lte(50))));
+
+        for (GameQuery query : queries) {
+            List<String> expected = ids(games.stream().filter(query).toList());
+            assertEquals(expected, ids(repository.findWhere(query)), query.toString());
+            assertEquals(expected.size(), repository.countWhere(query), query.toString());
+        }
+    }
+
+    @Test
+    void testDeleteWhereAndLambdaFallback() {
+        // Test: deleteWhere borra en SQL; una lambda sigue funcionando en memoria
+        Predicate<HexGameState> lambda = game -> game.getGameId().endsWith("7");
+        long expectedLambda = games.stream().filter(lambda).count();
+        assertEquals(expectedLambda, repository.countWhere(lambda));
+
+        GameQuery small = GameQuery.boardSize().lt(5);
+        long expectedDeleted = games.stream().filter(small).count();
+        assertEquals(expectedDeleted, repository.deleteWhere(small));
+        assertEquals(0, repository.countWhere(small));
+        assertEquals(games.size() - expectedDeleted, repository.findAll().size());
+    }
+
+    @Test
+    void testRowsWithoutIndexedColumnsAreStillMatched() throws Exception {
+        // Test: filas JSON sin columnas derivadas se evalúan en memoria
+        try (Connection conn = DriverManager.getConnection(url, "sa", "");
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("INSERT INTO game_state (id, state_data) VALUES ('legacy', "
+                    + "'{\"boardSize\":9,\"status\":\"PLAYER_WON\",\"catPosition\":{\"q\":0,\"r\":0},\"moveCount\":2}')");
+        }
+
+        GameQuery query = GameQuery.status(GameStatus.PLAYER_WON).and(GameQuery.boardSize().eq(9));
+        long indexed = games.stream().filter(query).count();
+        assertEquals(indexed + 1, repository.countWhere(query));
+        assertTrue(ids(repository.findWhere(query)).contains("legacy"));
+        assertEquals(indexed + 1, repository.deleteWhere(query));
+        assertFalse(repository.existsById("legacy"));
+    }
+
+    @Test
+    void testRejectsInvalidComparisons() {
+        // Test: no se permite ordenar textos/enums ni mezclar tipos
+        assertThrows(IllegalArgumentException.class,
+                () -> GameQuery.where(GameQuery.Field.STATUS, GameQuery.Operator.GT, GameStatus.DRAW));
+        assertThrows(IllegalArgumentException.class,
+                () -> GameQuery.where(GameQuery.Field.BOARD_SIZE, GameQuery.Operator.EQ, "7"));
+    }
+
+    private List<String> ids(List<HexGameState> states) {
+        return states.stream()
+                .map(HexGameState::getGameId)
+                .sorted(Comparator.naturalOrder())
+                .toList();
+    }
+}
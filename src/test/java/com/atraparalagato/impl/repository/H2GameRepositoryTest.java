@@ -0,0 +1,336 @@
+package com.atraparalagato.impl.repository;
+
+import com.atraparalagato.base.model.GameState.GameStatus;
+import com.atraparalagato.impl.model.HexGameState;
+import com.atraparalagato.impl.model.HexPosition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para H2GameRepository.
+ * Cada test usa su propia base H2 en memoria.
+ */
+class H2GameRepositoryTest {
+
+    private H2GameRepository repository;
+    private String url;
+
+    @BeforeEach
+    void setUp() {
+        url = "jdbc:h2:mem:test-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        repository = new H2GameRepository(H2PoolSettings.from(Map.of(
+                "game.h2.url", url,
+                "game.h2.pool.max-size", "2",
+                "game.h2.pool.min-idle", "1")::get));
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.close();
+    }
+
+    @Test
+    void testSaveAndFindById() {
+        // Test: una partida guardada se recupera con su estado
+        HexGameState game = new HexGameState("game-1", 5);
+        game.executeMove(HexPosition.of(1, 0));
+        game.setCatPosition(HexPosition.of(0, 1));
+        repository.save(game);
+
+        Optional<HexGameState> loaded = repository.findById("game-1");
+        assertTrue(loaded.isPresent());
+        assertEquals(HexPosition.of(0, 1), loaded.get().getCatPosition());
+        assertEquals(game.getStatus(), loaded.get().getStatus());
+        assertEquals(5, loaded.get().getBoardSize());
+        assertEquals(1, loaded.get().getMoveCount());
+        assertTrue(loaded.get().getGameBoard().isBlocked(HexPosition.of(1, 0)));
+        assertTrue(repository.existsById("game-1"));
+        assertTrue(repository.findById("missing").isEmpty());
+    }
+
+    @Test
+    void testSaveUpdatesExistingGame() {
+        // Test: guardar dos veces el mismo ID actualiza la fila en lugar de duplicarla
+        HexGameState game = new HexGameState("game-1", 5);
+        repository.save(game);
+        game.setCatPosition(HexPosition.of(1, -1));
+        repository.save(game);
+
+        assertEquals(1, repository.findAll().size());
+        assertEquals(HexPosition.of(1, -1), repository.findById("game-1").orElseThrow().getCatPosition());
+    }
+
+    @Test
+    void testSaveAllInsertsAndUpdatesInOneBatch() {
+        // Test: saveAll mezcla inserciones y actualizaciones, incluso en varios lotes
+        repository.save(new HexGameState("game-0", 5));
+        List<HexGameState> games = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            games.add(new HexGameState("game-" + i, 3 + i % 8));
+        }
+
+        assertEquals(1200, repository.saveAll(games).size());
+        assertEquals(1200, repository.findAll().size());
+        assertEquals(10, repository.findById("game-1199").orElseThrow().getBoardSize());
+    }
+
+    @Test
+    void testSaveAllIsAtomic() {
+        // Test: si una entidad es inválida no se guarda ninguna
+        List<HexGameState> games = new ArrayList<>();
+        games.add(new HexGameState("game-1", 5));
+        games.add(null);
+
+        assertThrows(IllegalArgumentException.class, () -> repository.saveAll(games));
+        assertTrue(repository.findAll().isEmpty());
+    }
+
+    @Test
+    void testReadsAndMigratesLegacyJsonRows() throws Exception {
+        // Test: las filas JSON anteriores al formato binario se leen y se migran
+        try (Connection conn = DriverManager.getConnection(url, "sa", "");
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("INSERT INTO game_state (id, state_data) VALUES ('legacy', "
+                    + "'{\"gameId\":\"legacy\",\"boardSize\":6,\"status\":\"IN_PROGRESS\","
+                    + "\"catPosition\":{\"q\":1,\"r\":-1},\"moveCount\":1,\"blockedCells\":[{\"q\":2,\"r\":0,\"s\":-2}]}')");
+        }
+
+        HexGameState legacy = repository.findById("legacy").orElseThrow();
+        assertEquals(6, legacy.getBoardSize());
+        assertEquals(HexPosition.of(1, -1), legacy.getCatPosition());
+        assertEquals(1, legacy.getMoveCount());
+        assertTrue(legacy.getGameBoard().isBlocked(HexPosition.of(2, 0)));
+
+        assertEquals(1, repository.migrateLegacyRows());
+        assertEquals(0, repository.migrateLegacyRows());
+        assertEquals(HexPosition.of(1, -1), repository.findById("legacy").orElseThrow().getCatPosition());
+    }
+
+    @Test
+    void testTopScoresAndPlayerStatisticsFromColumns() {
+        // Test: ranking y estadísticas salen de las columnas mantenidas por save
+        List<HexGameState> games = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            HexGameState game = new HexGameState("game-" + i, 5);
+            game.setPlayerId(i % 2 == 0 ? "ana" : "luis");
+            GameStatus status = i < 3 ? GameStatus.PLAYER_WON : GameStatus.IN_PROGRESS;
+            game.restoreState(game.getCatPosition(), status, i, new long[0]);
+            games.add(game);
+        }
+        repository.saveAll(games);
+
+        List<GameSummary> top = repository.findTopScores(3);
+        assertEquals(List.of("game-0", "game-1", "game-2"), top.stream().map(GameSummary::gameId).toList());
+        assertEquals(games.get(0).calculateScore(), top.get(0).score());
+        assertEquals(GameStatus.PLAYER_WON, top.get(0).status());
+        assertEquals("ana", top.get(0).playerId());
+
+        PlayerStatistics ana = repository.getPlayerStatistics("ana");
+        assertEquals(5, ana.gamesPlayed());
+        assertEquals(2, ana.gamesWon());
+        assertEquals(games.get(0).calculateScore(), ana.bestScore());
+        assertEquals(games.stream().filter(g -> "ana".equals(g.getPlayerId()))
+                .mapToInt(HexGameState::calculateScore).average().orElseThrow(), ana.averageScore(), 1e-9);
+        assertEquals(0, repository.getPlayerStatistics("nadie").gamesPlayed());
+        assertEquals("luis", repository.findById("game-1").orElseThrow().getPlayerId());
+    }
+
+    @Test
+    void testCreatedAtSurvivesRoundTrip() {
+        // Test: una partida cargada informa su fecha de creación, no la hora de carga
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 2, 3, 4, 5);
+        HexGameState game = new HexGameState("game-1", 5);
+        game.restoreCreatedAt(createdAt);
+        repository.save(game);
+        game.executeMove(HexPosition.of(1, 0));
+        repository.save(game);
+
+        assertEquals(createdAt, repository.findById("game-1").orElseThrow().getCreatedAt());
+        assertEquals(createdAt, repository.findAll().get(0).getCreatedAt());
+        try (Stream<HexGameState> stream = repository.streamAll()) {
+            assertEquals(createdAt, stream.findFirst().orElseThrow().getCreatedAt());
+        }
+    }
+
+    @Test
+    void testUpdateKeepsCreatedAtAndRefreshesColumns() throws Exception {
+        // Test: al actualizar, created_at no cambia y las columnas reflejan el estado nuevo
+        HexGameState game = new HexGameState("game-1", 5);
+        game.setPlayerId("ana");
+        repository.save(game);
+        game.setPlayerId(null);
+        game.executeMove(HexPosition.of(1, 0));
+        repository.save(game);
+
+        try (Connection conn = DriverManager.getConnection(url, "sa", "");
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(
+                     "SELECT move_count, player_id, created_at, updated_at FROM game_state WHERE id = 'game-1'")) {
+            assertTrue(rs.next());
+            assertEquals(1, rs.getInt("move_count"));
+            assertEquals("ana", rs.getString("player_id"));
+            assertNotNull(rs.getTimestamp("created_at"));
+            assertFalse(rs.getTimestamp("updated_at").before(rs.getTimestamp("created_at")));
+        }
+    }
+
+    @Test
+    void testStreamAllUsesCursorAndReleasesConnection() {
+        // Test: streamAll recorre todo con fetch-size chico y devuelve la conexión
+        // (pool de una sola conexión: si el stream no la liberara, la consulta
+        // siguiente fallaría por timeout)
+        repository.close();
+        repository = new H2GameRepository(H2PoolSettings.from(Map.of(
+                "game.h2.url", url,
+                "game.h2.pool.max-size", "1",
+                "game.h2.pool.connection-timeout-ms", "250",
+                "game.h2.fetch-size", "7")::get));
+        List<HexGameState> games = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            games.add(new HexGameState("game-" + i, 3 + i % 8));
+        }
+        repository.saveAll(games);
+
+        try (Stream<HexGameState> states = repository.streamAll()) {
+            assertEquals(300, states.count());
+        }
+        // Consumo parcial: cerrar el stream libera la conexión
+        try (Stream<HexGameState> states = repository.streamWhere(GameQuery.boardSize().gte(9))) {
+            assertEquals(3, states.limit(3).count());
+        }
+        try (Stream<HexGameState> states = repository.streamWhere(game -> game.getGameId().endsWith("5"))) {
+            assertEquals(30, states.count());
+        }
+        assertEquals(games.stream().filter(GameQuery.boardSize().gte(9)).count(),
+                repository.countWhere(GameQuery.boardSize().gte(9)));
+    }
+
+    @Test
+    void testDeleteWhereWithLambdaDeletesInBatches() {
+        // Test: deleteWhere con una lambda borra solo las coincidencias
+        List<HexGameState> games = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            games.add(new HexGameState("game-" + i, 4));
+        }
+        repository.saveAll(games);
+
+        assertEquals(600, repository.deleteWhere(game -> Integer.parseInt(game.getGameId().substring(5)) % 2 == 0));
+        assertEquals(600, repository.findAll().size());
+        assertTrue(repository.existsById("game-1"));
+        assertFalse(repository.existsById("game-0"));
+    }
+
+    @Test
+    void testTransactionRollsBackAllEnclosedWrites() {
+        // Test: si la operación falla, ninguna escritura de la transacción queda
+        repository.save(new HexGameState("existing", 5));
+
+        assertThrows(IllegalStateException.class, () -> repository.executeInTransaction(repo -> {
+            repo.save(new HexGameState("game-1", 5));
+            repo.save(new HexGameState("game-2", 5));
+            // Las consultas dentro de la transacción ven lo guardado
+            assertEquals(3, repo.findAll().size());
+            repo.deleteById("existing");
+            throw new IllegalStateException("falla");
+        }));
+
+        assertEquals(List.of("existing"), repository.findAll().stream().map(HexGameState::getGameId).toList());
+    }
+
+    @Test
+    void testTransactionSharesOneConnectionAndBatchesWrites() {
+        // Test: toda la transacción usa una conexión y lee sus propias escrituras
+        long acquisitionsBefore = (Long) repository.getPoolStatistics().get("acquisitions");
+
+        int saved = repository.executeInTransaction(repo -> {
+            HexGameState updated = new HexGameState("game-0", 5);
+            for (int i = 0; i < 1000; i++) {
+                repo.save(new HexGameState("game-" + i, 5));
+            }
+            repo.save(updated);
+            updated.setCatPosition(HexPosition.of(1, 0));
+            assertSame(updated, repo.findById("game-0").orElseThrow());
+            assertTrue(repo.existsById("game-999"));
+            assertTrue(repo.deleteById("game-999"));
+            // Una transacción anidada se une a la actual
+            return repo.executeInTransaction(inner -> (int) inner.countWhere(GameQuery.boardSize().eq(5)));
+        });
+
+        assertEquals(999, saved);
+        assertEquals(1L, (Long) repository.getPoolStatistics().get("acquisitions") - acquisitionsBefore);
+        assertEquals(999, repository.findAll().size());
+        assertEquals(HexPosition.of(1, 0), repository.findById("game-0").orElseThrow().getCatPosition());
+    }
+
+    @Test
+    void testStaleVersionIsRejected() {
+        // Test: guardar una copia leída antes de otro guardado es un conflicto
+        repository.saveAll(List.of(new HexGameState("game-1", 5), new HexGameState("game-2", 5)));
+        HexGameState first = repository.findById("game-1").orElseThrow();
+        HexGameState second = repository.findById("game-1").orElseThrow();
+        assertEquals(1, first.getVersion());
+
+        first.executeMove(HexPosition.of(1, 0));
+        repository.save(first);
+        assertEquals(2, first.getVersion());
+
+        second.executeMove(HexPosition.of(2, 0));
+        GameVersionConflictException conflict = assertThrows(GameVersionConflictException.class,
+                () -> repository.save(second));
+        assertEquals(List.of("game-1"), conflict.getGameIds());
+
+        // En lote: nada se escribe y las versiones no cambian
+        HexGameState other = repository.findById("game-2").orElseThrow();
+        other.executeMove(HexPosition.of(0, 2));
+        assertThrows(GameVersionConflictException.class, () -> repository.saveAll(List.of(other, second)));
+        assertEquals(1, other.getVersion());
+        assertEquals(0, repository.findById("game-2").orElseThrow().getMoveCount());
+
+        HexGameState stored = repository.findById("game-1").orElseThrow();
+        assertEquals(2, stored.getVersion());
+        assertTrue(stored.getGameBoard().isBlocked(HexPosition.of(1, 0)));
+        assertFalse(stored.getGameBoard().isBlocked(HexPosition.of(2, 0)));
+    }
+
+    @Test
+    void testConcurrentSavesStayWithinPool() throws Exception {
+        // Test: muchos hilos comparten como máximo max-size conexiones
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                String id = "game-" + i;
+                futures.add(executor.submit(() -> repository.save(new HexGameState(id, 4))));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(200, repository.findAll().size());
+        Map<String, Object> stats = repository.getPoolStatistics();
+        assertTrue((Long) stats.get("acquisitions") >= 200);
+        assertEquals(0L, stats.get("timeouts"));
+        assertTrue((Integer) stats.get("totalConnections") <= 2);
+    }
+}
@@ -0,0 +1,74 @@
+package com.atraparalagato.impl.repository;
+
+import com.atraparalagato.impl.model.HexGameState;
+import com.atraparalagato.impl.model.HexPosition;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static com.atraparalagato.impl.model.RandomGames.randomGame;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para HexGameStateCodec.
+ * El formato binario debe conservar todo el estado de la partida.
+ */
+class HexGameStateCodecTest {
+
+    @Test
+    void testRoundTripRandomGames() {
+        // Test: encode + decode conserva gato, estado, movimientos y bloqueos
+        Random random = new Random(11);
+
+        for (int game = 0; game < 300; game++) {
+            HexGameState original = randomGame("game-" + game, random);
+            HexGameState decoded = HexGameStateCodec.decode(original.getGameId(), HexGameStateCodec.encode(original));
+
+            assertEquals(original.getGameId(), decoded.getGameId());
+            assertEquals(original.getBoardSize(), decoded.getBoardSize());
+            assertEquals(original.getCatPosition(), decoded.getCatPosition());
+            assertEquals(original.getStatus(), decoded.getStatus());
+            assertEquals(original.getMoveCount(), decoded.getMoveCount());
+            assertEquals(original.getGameBoard().getBlockedPositions(), decoded.getGameBoard().getBlockedPositions());
+        }
+    }
+
+    @Test
+    void testEncodingIsCompact() {
+        // Test: una partida de tamaño 10 con todo bloqueado ocupa menos de 60 bytes
+        HexGameState game = new HexGameState("full", 10);
+        for (int q = -9; q <= 9; q++) {
+            for (int r = -9; r <= 9; r++) {
+                if (q != 0 || r != 0) {
+                    game.getGameBoard().makeMove(HexPosition.of(q, r));
+                }
+            }
+        }
+        assertTrue(HexGameStateCodec.encode(game).length <= 59);
+        assertEquals(11, HexGameStateCodec.encode(new HexGameState("empty", 10)).length);
+    }
+
+    @Test
+    void testKeepsDifficultyAndReadsVersion1() {
+        // Test: la dificultad viaja en el byte de estado; la versión 1 se lee como "easy"
+        HexGameState hard = new HexGameState("hard", 5);
+        hard.setDifficulty("hard");
+        hard.executeMove(HexPosition.of(1, 0));
+        byte[] data = HexGameStateCodec.encode(hard);
+        HexGameState decoded = HexGameStateCodec.decode("hard", data);
+        assertEquals(HexGameState.DIFFICULTY_HARD, decoded.getDifficulty());
+        assertEquals(hard.getStatus(), decoded.getStatus());
+
+        byte[] legacy = HexGameStateCodec.encode(new HexGameState("old", 5));
+        legacy[0] = 1;
+        assertEquals(HexGameState.DIFFICULTY_EASY, HexGameStateCodec.decode("old", legacy).getDifficulty());
+    }
+
+    @Test
+    void testRejectsUnknownVersion() {
+        // Test: una versión de formato desconocida no se decodifica en silencio
+        byte[] data = HexGameStateCodec.encode(new HexGameState("game", 5));
+        data[0] = 99;
+        assertThrows(IllegalArgumentException.class, () -> HexGameStateCodec.decode("game", data));
+    }
+}
@@ -0,0 +1,90 @@
+package com.atraparalagato.impl.repository;
+
+import com.atraparalagato.base.model.GameState.GameStatus;
+import com.atraparalagato.impl.model.HexGameState;
+import com.atraparalagato.impl.model.HexPosition;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Random;
+
+import static com.atraparalagato.impl.model.RandomGames.randomGame;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para HexGameStateJsonReader y HexGameState.restoreFromSerializable().
+ * Propiedad: serializar y volver a leer da la misma partida.
+ */
+class HexGameStateJsonReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testJsonRoundTripRandomGames() throws Exception {
+        // Test: getSerializableState -> JSON -> lector en streaming conserva todo
+        Random random = new Random(17);
+
+        for (int game = 0; game < 300; game++) {
+            HexGameState original = randomGame("game-" + game, random);
+            String json = objectMapper.writeValueAsString(original.getSerializableState());
+
+            assertSameGame(original, HexGameStateJsonReader.read(original.getGameId(), json));
+        }
+    }
+
+    @Test
+    void testRestoreFromSerializableRoundTrip() throws Exception {
+        // Test: restoreFromSerializable acepta el mapa original y el JSON leído como Map
+        Random random = new Random(19);
+
+        for (int game = 0; game < 300; game++) {
+            HexGameState original = randomGame("game-" + game, random);
+
+            HexGameState fromMap = new HexGameState(original.getGameId(), original.getBoardSize());
+            fromMap.restoreFromSerializable(original.getSerializableState());
+            assertSameGame(original, fromMap);
+
+            String json = objectMapper.writeValueAsString(original.getSerializableState());
+            HexGameState fromJson = new HexGameState(original.getGameId(), original.getBoardSize());
+            fromJson.restoreFromSerializable(objectMapper.readValue(json, new TypeReference<Map<String, Object>>() {}));
+            assertSameGame(original, fromJson);
+        }
+    }
+
+    @Test
+    void testFieldOrderAndUnknownFields() {
+        // Test: los campos pueden venir en cualquier orden y se ignoran los desconocidos
+        String json = "{\"blockedCells\":[{\"q\":1,\"r\":0,\"s\":-1},{\"r\":2,\"q\":-1}],"
+                + "\"extra\":{\"nested\":[1,2,3]},\"status\":\"PLAYER_WON\",\"moveCount\":2,"
+                + "\"catPosition\":{\"q\":0,\"r\":1},\"boardSize\":4}";
+
+        HexGameState state = HexGameStateJsonReader.read("game", json);
+        assertEquals(4, state.getBoardSize());
+        assertEquals(HexPosition.of(0, 1), state.getCatPosition());
+        assertEquals(GameStatus.PLAYER_WON, state.getStatus());
+        assertEquals(2, state.getMoveCount());
+        assertTrue(state.getGameBoard().isBlocked(HexPosition.of(1, 0)));
+        assertTrue(state.getGameBoard().isBlocked(HexPosition.of(-1, 2)));
+        assertEquals(2, state.getGameBoard().getBlockedPositions().size());
+    }
+
+    @Test
+    void testRejectsInvalidJson() {
+        // Test: JSON sin tamaño o con celdas fuera del tablero se rechaza
+        assertThrows(IllegalArgumentException.class, () -> HexGameStateJsonReader.read("game", "{\"moveCount\":1}"));
+        assertThrows(IllegalArgumentException.class, () -> HexGameStateJsonReader.read("game",
+                "{\"boardSize\":3,\"blockedCells\":[{\"q\":9,\"r\":0}]}"));
+        assertThrows(IllegalArgumentException.class, () -> HexGameStateJsonReader.read("game", "[1,2]"));
+    }
+
+    private void assertSameGame(HexGameState expected, HexGameState actual) {
+        assertEquals(expected.getGameId(), actual.getGameId());
+        assertEquals(expected.getBoardSize(), actual.getBoardSize());
+        assertEquals(expected.getCatPosition(), actual.getCatPosition());
+        assertEquals(expected.getStatus(), actual.getStatus());
+        assertEquals(expected.getMoveCount(), actual.getMoveCount());
+        assertEquals(expected.getGameBoard().getBlockedPositions(), actual.getGameBoard().getBlockedPositions());
+    }
+}
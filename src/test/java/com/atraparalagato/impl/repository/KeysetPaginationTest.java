@@ -0,0 +1,127 @@
+package com.atraparalagato.impl.repository;
+
+import com.atraparalagato.base.model.GameState;
+import com.atraparalagato.base.model.GameState.GameStatus;
+import com.atraparalagato.example.model.ExampleGameState;
+import com.atraparalagato.example.repository.InMemoryGameRepository;
+import com.atraparalagato.impl.model.HexGameState;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para findPage en H2GameRepository y findPageAfter en InMemoryGameRepository.
+ * Propiedad: recorrer todas las páginas da el orden completo, sin repetidos.
+ */
+class KeysetPaginationTest {
+
+    private H2GameRepository repository;
+    private List<HexGameState> games;
+
+    @BeforeEach
+    void setUp() {
+        repository = new H2GameRepository(H2PoolSettings.from(Map.of(
+                "game.h2.url", "jdbc:h2:mem:test-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1")::get));
+
+        Random random = new Random(29);
+        games = new ArrayList<>();
+        for (int i = 0; i < 137; i++) {
+            HexGameState game = new HexGameState("game-" + i, 3 + random.nextInt(8));
+            // Muchas puntuaciones repetidas: el desempate por id tiene que funcionar
+            GameStatus status = random.nextBoolean() ? GameStatus.PLAYER_WON : GameStatus.IN_PROGRESS;
+            game.restoreState(game.getCatPosition(), status, random.nextInt(5), new long[0]);
+            games.add(game);
+        }
+        repository.saveAll(games);
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.close();
+    }
+
+    @Test
+    void testWalkingAllPagesGivesFullOrder() {
+        // Test: por cada campo, las páginas concatenadas dan el orden esperado
+        List<String> byId = ids(games.stream().sorted(GameSortField.GAME_ID.comparator()).toList());
+        List<String> byScore = ids(games.stream().sorted(GameSortField.SCORE.comparator()).toList());
+
+        assertEquals(byId, ids(walk(repository, GameSortField.GAME_ID, 10)));
+        assertEquals(byScore, ids(walk(repository, GameSortField.SCORE, 7)));
+
+        List<String> byCreated = ids(walk(repository, GameSortField.CREATED_AT, 25));
+        assertEquals(games.size(), byCreated.size());
+        assertEquals(games.size(), new HashSet<>(byCreated).size());
+    }
+
+    @Test
+    void testInsertsBetweenPagesDoNotRepeatItems() {
+        // Test: una inserción entre páginas no hace repetir elementos ya vistos
+        Page<HexGameState> first = repository.findPage(null, 20, GameSortField.GAME_ID);
+        repository.save(new HexGameState("game-0-new", 5));
+        Page<HexGameState> second = repository.findPage(first.nextToken(), 20, GameSortField.GAME_ID);
+
+        Set<String> seen = new HashSet<>(ids(first.items()));
+        for (String id : ids(second.items())) {
+            assertTrue(seen.add(id), id);
+        }
+        assertTrue(second.items().get(0).getGameId().compareTo(first.items().get(19).getGameId()) > 0);
+    }
+
+    @Test
+    void testRejectsForeignOrInvalidTokens() {
+        // Test: un token de otro orden o corrupto se rechaza
+        String token = repository.findPage(null, 5, GameSortField.SCORE).nextToken();
+        assertThrows(IllegalArgumentException.class, () -> repository.findPage(token, 5, GameSortField.GAME_ID));
+        assertThrows(IllegalArgumentException.class, () -> repository.findPage("no-es-un-token", 5, GameSortField.SCORE));
+        assertThrows(IllegalArgumentException.class, () -> repository.findPage(null, 0, GameSortField.SCORE));
+    }
+
+    @Test
+    void testInMemoryRepositoryPagesById() {
+        // Test: el repositorio de ejemplo pagina por id desde la última partida vista
+        InMemoryGameRepository memory = new InMemoryGameRepository();
+        List<ExampleGameState> stored = new ArrayList<>();
+        for (int i = 0; i < 53; i++) {
+            ExampleGameState game = new ExampleGameState("game-" + i, 5);
+            memory.save(game);
+            stored.add(game);
+        }
+
+        List<ExampleGameState> walked = new ArrayList<>();
+        List<ExampleGameState> page = memory.findPageAfter(null, 8);
+        while (!page.isEmpty()) {
+            assertTrue(page.size() <= 8);
+            walked.addAll(page);
+            page = memory.findPageAfter(page.get(page.size() - 1).getGameId(), 8);
+        }
+        assertEquals(ids(stored.stream().sorted(GameSortField.GAME_ID.comparator()).toList()), ids(walked));
+        assertEquals(ids(memory.findWithPagination(1, 8)), ids(memory.findWithPagination(1, 8)));
+    }
+
+    private <T extends GameState<?>> List<T> walk(KeysetPagination<T> source, GameSortField sortField, int size) {
+        List<T> all = new ArrayList<>();
+        String token = null;
+        do {
+            Page<T> page = source.findPage(token, size, sortField);
+            assertTrue(page.items().size() <= size);
+            all.addAll(page.items());
+            token = page.nextToken();
+        } while (token != null);
+        return all;
+    }
+
+    private List<String> ids(List<? extends GameState<?>> states) {
+        return states.stream().map(GameState::getGameId).toList();
+    }
+}
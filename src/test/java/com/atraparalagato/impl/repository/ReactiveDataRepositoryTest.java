@@ -0,0 +1,82 @@
+package com.atraparalagato.impl.repository;
+
+import com.atraparalagato.impl.model.HexGameState;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para ReactiveDataRepository sobre H2GameRepository.
+ */
+class ReactiveDataRepositoryTest {
+
+    private H2GameRepository store;
+
+    @BeforeEach
+    void setUp() {
+        store = new H2GameRepository(H2PoolSettings.from(Map.of(
+                "game.h2.url", "jdbc:h2:mem:test-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1")::get));
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    @Test
+    void testOperationsRunOnOffloadPool() {
+        // Test: las llamadas bloqueantes corren en el pool, no en el hilo que se suscribe
+        try (ReactiveDataRepository<HexGameState, String> games =
+                     new ReactiveDataRepository<>(store, ReactiveSettings.defaults())) {
+            HexGameState game = new HexGameState("game-1", 5);
+            String thread = games.save(game)
+                    .map(saved -> Thread.currentThread().getName())
+                    .block();
+            assertTrue(thread.startsWith("game-offload"), thread);
+
+            assertEquals("game-1", games.findById("game-1").map(HexGameState::getGameId).block());
+            assertNull(games.findById("missing").block());
+            assertEquals(List.of("game-1"),
+                    games.findAll().map(HexGameState::getGameId).collectList().block());
+            assertEquals(1L, games.countWhere(state -> state.getBoardSize() == 5).block());
+            assertTrue(games.deleteById("game-1").block());
+            assertFalse(games.existsById("game-1").block());
+        }
+    }
+
+    @Test
+    void testRejectsWorkBeyondBoundedPool() throws Exception {
+        // Test: con el pool y la cola llenos, la operación termina con error en vez de encolarse
+        ReactiveSettings settings = ReactiveSettings.from(Map.of(
+                "game.reactive.offload.max-threads", "1",
+                "game.reactive.offload.queue-per-thread", "1")::get);
+        try (ReactiveDataRepository<HexGameState, String> games = new ReactiveDataRepository<>(store, settings)) {
+            CountDownLatch running = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            Mono<Boolean> blocked = games.offload(() -> {
+                running.countDown();
+                return release.await(5, TimeUnit.SECONDS);
+            });
+            blocked.subscribe();
+            assertTrue(running.await(5, TimeUnit.SECONDS));
+            Mono<Boolean> queued = games.existsById("game-1").cache();
+            queued.subscribe();
+
+            assertThrows(RejectedExecutionException.class, () -> games.existsById("game-2").block());
+
+            release.countDown();
+            assertFalse(queued.block(Duration.ofSeconds(5)));
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.atraparalagato.impl.repository;
+
+import com.atraparalagato.impl.model.HexGameState;
+import com.atraparalagato.impl.model.HexPosition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para WriteBehindGameRepository en modo write-behind.
+ * Cada test usa su propia base H2 en memoria como almacenamiento; el modo
+ * write-through se prueba con dos servicios en HexGameServiceTest.
+ */
+class WriteBehindGameRepositoryTest {
+
+    private WriteBehindGameRepository cache;
+
+    /**
+     * Almacenamiento que cuenta las partidas escritas por la caché.
+     */
+    private static class CountingStore extends H2GameRepository {
+        final AtomicInteger written = new AtomicInteger();
+
+        CountingStore() {
+            super(H2PoolSettings.from(Map.of(
+                    "game.h2.url", "jdbc:h2:mem:test-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1")::get));
+        }
+
+        @Override
+        public List<HexGameState> saveAll(Collection<HexGameState> entities) {
+            written.addAndGet(entities.size());
+            return super.saveAll(entities);
+        }
+    }
+
+    private CountingStore createCache(int maxEntries, long flushIntervalMs) {
+        CountingStore store = new CountingStore();
+        cache = new WriteBehindGameRepository(store, WriteBehindSettings.from(Map.of(
+                "game.cache.write-behind", "true",
+                "game.cache.max-entries", String.valueOf(maxEntries),
+                "game.cache.flush-interval-ms", String.valueOf(flushIntervalMs))::get));
+        return store;
+    }
+
+    @AfterEach
+    void tearDown() {
+        cache.close();
+    }
+
+    @Test
+    void testRepeatedSavesAreCoalesced() {
+        // Test: muchos saves de la misma partida producen una sola escritura
+        CountingStore store = createCache(100, 60_000);
+        HexGameState game = new HexGameState("game-1", 5);
+        for (int i = 0; i < 50; i++) {
+            cache.save(game);
+        }
+
+        assertEquals(game.getCatPosition(), cache.findById("game-1").orElseThrow().getCatPosition());
+        assertFalse(store.existsById("game-1"));
+
+        cache.flush();
+        assertEquals(1, store.written.get());
+        assertTrue(store.existsById("game-1"));
+        assertEquals(1L, cache.getCacheStatistics().get("writes"));
+    }
+
+    @Test
+    void testEvictedDirtyGamesAreNotLost() {
+        // Test: una partida sucia desalojada por LRU se sigue leyendo y se escribe
+        CountingStore store = createCache(2, 60_000);
+        for (int i = 0; i < 5; i++) {
+            HexGameState game = new HexGameState("game-" + i, 5);
+            game.setCatPosition(HexPosition.of(i % 2, 0));
+            cache.save(game);
+        }
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(cache.findById("game-" + i).isPresent());
+        }
+        assertTrue((Integer) cache.getCacheStatistics().get("cachedGames") <= 2);
+
+        cache.flush();
+        assertEquals(5, store.findAll().size());
+        assertEquals(HexPosition.of(1, 0), store.findById("game-3").orElseThrow().getCatPosition());
+    }
+
+    @Test
+    void testBackgroundFlushWithinDurabilityWindow() throws InterruptedException {
+        // Test: sin llamar a flush, la partida llega a H2 dentro de la ventana
+        CountingStore store = createCache(100, 20);
+        cache.save(new HexGameState("game-1", 5));
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!store.existsById("game-1") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(store.existsById("game-1"));
+    }
+
+    @Test
+    void testQueriesSeePendingWrites() {
+        // Test: las consultas generales escriben antes lo pendiente
+        createCache(100, 60_000);
+        cache.save(new HexGameState("game-1", 5));
+        cache.save(new HexGameState("game-2", 7));
+
+        assertEquals(2, cache.findAll().size());
+        assertEquals(1, cache.countWhere(game -> game.getBoardSize() == 7));
+        assertTrue(cache.deleteById("game-1"));
+        assertTrue(cache.findById("game-1").isEmpty());
+    }
+
+    @Test
+    void testConflictingGameIsDiscardedOnFlush() {
+        // Test: si otro proceso guardó la partida, la caché descarta su copia
+        CountingStore store = createCache(100, 60_000);
+        HexGameState cached = new HexGameState("game-1", 5);
+        cache.save(cached);
+        cache.flush();
+
+        HexGameState elsewhere = store.findById("game-1").orElseThrow();
+        elsewhere.executeMove(HexPosition.of(1, 0));
+        store.save(elsewhere);
+
+        cached.executeMove(HexPosition.of(2, 0));
+        cache.save(cached);
+        cache.save(new HexGameState("game-2", 5));
+        cache.flush();
+
+        assertEquals(1L, cache.getCacheStatistics().get("conflicts"));
+        assertTrue(store.existsById("game-2"));
+        HexGameState reloaded = cache.findById("game-1").orElseThrow();
+        assertNotSame(cached, reloaded);
+        assertTrue(reloaded.getGameBoard().isBlocked(HexPosition.of(1, 0)));
+        assertFalse(reloaded.getGameBoard().isBlocked(HexPosition.of(2, 0)));
+    }
+
+    @Test
+    void testCacheKeepsCopiesNotCallerInstances() {
+        // Test: ni el llamador ni los lectores comparten la partida cacheada
+        CountingStore store = createCache(100, 60_000);
+        HexGameState game = new HexGameState("game-1", 5);
+        cache.save(game);
+        // Cambio posterior sin save: no debe verse ni escribirse
+        game.executeMove(HexPosition.of(1, 0));
+
+        HexGameState first = cache.findById("game-1").orElseThrow();
+        HexGameState second = cache.findById("game-1").orElseThrow();
+        assertNotSame(first, second);
+        assertEquals(game.getCreatedAt(), first.getCreatedAt());
+        first.executeMove(HexPosition.of(2, 0));
+        assertFalse(second.getGameBoard().isBlocked(HexPosition.of(2, 0)));
+        assertFalse(second.getGameBoard().isBlocked(HexPosition.of(1, 0)));
+
+        cache.flush();
+        HexGameState stored = store.findById("game-1").orElseThrow();
+        assertEquals(0, stored.getMoveCount());
+        assertTrue(stored.getGameBoard().getBlockedPositions().isEmpty());
+    }
+
+    @Test
+    void testDeleteWhereDropsPendingGames() {
+        // Test: una partida borrada con deleteWhere no vuelve con un flush posterior
+        CountingStore store = createCache(100, 60_000);
+        cache.save(new HexGameState("game-1", 5));
+        cache.save(new HexGameState("game-2", 7));
+        cache.flush();
+        // game-1 vuelve a quedar sucia antes del borrado
+        HexGameState game = cache.findById("game-1").orElseThrow();
+        game.executeMove(HexPosition.of(1, 0));
+        cache.save(game);
+
+        assertEquals(1, cache.deleteWhere(state -> state.getBoardSize() == 5));
+        cache.flush();
+
+        assertFalse(store.existsById("game-1"));
+        assertTrue(cache.findById("game-1").isEmpty());
+        assertTrue(cache.findById("game-2").isPresent());
+    }
+}
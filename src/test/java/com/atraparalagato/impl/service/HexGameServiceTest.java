@@ -0,0 +1,240 @@
+package com.atraparalagato.impl.service;
+
+import com.atraparalagato.impl.model.HexGameState;
+import com.atraparalagato.impl.model.HexPosition;
+import com.atraparalagato.impl.repository.GameVersionConflictException;
+import com.atraparalagato.impl.repository.H2GameRepository;
+import com.atraparalagato.impl.repository.H2PoolSettings;
+import com.atraparalagato.impl.repository.WriteBehindGameRepository;
+import com.atraparalagato.impl.strategy.AStarEscapeStrategy;
+import com.atraparalagato.impl.strategy.BFSEscapeStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para HexGameService.
+ * Usa H2 sin caché: cada findById devuelve una copia nueva de la partida,
+ * como dos pedidos HTTP concurrentes.
+ */
+class HexGameServiceTest {
+
+    private HexGameService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new HexGameService(new H2GameRepository(H2PoolSettings.from(Map.of(
+                "game.h2.url", "jdbc:h2:mem:test-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1")::get)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.close();
+    }
+
+    @Test
+    void testConcurrentMovesOnSameGameAreNotLost() throws Exception {
+        // Test: cada movimiento aceptado queda en el estado final de la partida
+        String gameId = service.createGame(10, "easy", Map.of()).getGameId();
+        List<HexPosition> cells = new ArrayList<>();
+        for (int q = -8; q <= 8 && cells.size() < 64; q++) {
+            for (int r = -8; r <= 8 && cells.size() < 64; r++) {
+                if (Math.abs(q + r) <= 8 && (q != 0 || r != 0)) {
+                    cells.add(HexPosition.of(q, r));
+                }
+            }
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> accepted = new ArrayList<>();
+        try {
+            for (HexPosition cell : cells) {
+                accepted.add(executor.submit(() -> {
+                    start.await();
+                    // Cada pedido tiene su propia copia: si la celda quedó bloqueada, se aceptó
+                    return service.executePlayerMove(gameId, cell, "player1")
+                            .map(state -> state.getGameBoard().isBlocked(cell))
+                            .orElse(false);
+                }));
+            }
+            start.countDown();
+            int acceptedMoves = 0;
+            for (Future<Boolean> future : accepted) {
+                acceptedMoves += future.get() ? 1 : 0;
+            }
+
+            HexGameState result = service.executePlayerMove(gameId, HexPosition.of(0, 0), "player1").orElseThrow();
+            assertTrue(acceptedMoves > 0);
+            assertEquals(acceptedMoves, result.getMoveCount());
+            assertEquals(acceptedMoves, result.getGameBoard().getBlockedPositions().size());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testTwoServicesOverOneStoreDoNotLoseMoves() {
+        // Test: dos nodos con la caché por defecto sobre la misma base ven los
+        // movimientos del otro, y un conflicto se resuelve releyendo
+        String url = "jdbc:h2:mem:test-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        AtomicReference<HexGameService> nodeB = new AtomicReference<>();
+        AtomicBoolean interleave = new AtomicBoolean();
+        // El primer save de A después de activar interleave deja pasar antes un movimiento de B
+        H2GameRepository storeA = new H2GameRepository(H2PoolSettings.from(Map.of("game.h2.url", url)::get)) {
+            @Override
+            public HexGameState save(HexGameState entity) {
+                if (interleave.compareAndSet(true, false)) {
+                    nodeB.get().executePlayerMove(entity.getGameId(), HexPosition.of(0, -2), "player2");
+                }
+                return super.save(entity);
+            }
+        };
+        WriteBehindGameRepository cacheA = new WriteBehindGameRepository(storeA);
+        HexGameService serviceA = new HexGameService(cacheA);
+        nodeB.set(new HexGameService(new WriteBehindGameRepository(
+                new H2GameRepository(H2PoolSettings.from(Map.of("game.h2.url", url)::get)))));
+        try {
+            String gameId = serviceA.createGame(8, "easy", Map.of()).getGameId();
+
+            // Movimientos alternados: cada nodo lee lo que guardó el otro
+            List<HexPosition> cells = List.of(HexPosition.of(3, 0), HexPosition.of(-3, 0),
+                    HexPosition.of(0, 3), HexPosition.of(0, -3));
+            for (int i = 0; i < cells.size(); i++) {
+                HexGameService node = i % 2 == 0 ? serviceA : nodeB.get();
+                HexGameState state = node.executePlayerMove(gameId, cells.get(i), "player1").orElseThrow();
+                assertEquals(i + 1, state.getMoveCount());
+            }
+
+            // B guarda entre la lectura y el save de A: A recibe el conflicto y reintenta
+            interleave.set(true);
+            HexGameState result = serviceA.executePlayerMove(gameId, HexPosition.of(2, 0), "player1").orElseThrow();
+            assertEquals(6, result.getMoveCount());
+            assertTrue(result.getGameBoard().isBlocked(HexPosition.of(0, -2)));
+            assertTrue(result.getGameBoard().isBlocked(HexPosition.of(2, 0)));
+            cells.forEach(cell -> assertTrue(result.getGameBoard().isBlocked(cell)));
+            assertEquals(1L, cacheA.getCacheStatistics().get("conflicts"));
+
+            assertEquals(6, nodeB.get().getEnrichedGameState(gameId).orElseThrow().get("movesCount"));
+        } finally {
+            serviceA.close();
+            nodeB.get().close();
+        }
+    }
+
+    @Test
+    void testBaseMovePersistsAndReportsStaleSaves() {
+        // Test: el movimiento heredado de GameService guarda la partida, y si
+        // otro pedido la guardó entre su lectura y su save falla con conflicto
+        AtomicReference<HexGameService> node = new AtomicReference<>();
+        AtomicBoolean interleave = new AtomicBoolean();
+        H2GameRepository store = new H2GameRepository(H2PoolSettings.from(Map.of(
+                "game.h2.url", "jdbc:h2:mem:test-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1")::get)) {
+            @Override
+            public HexGameState save(HexGameState entity) {
+                if (interleave.compareAndSet(true, false)) {
+                    node.get().executePlayerMove(entity.getGameId(), HexPosition.of(0, -2), "player2");
+                }
+                return super.save(entity);
+            }
+        };
+        node.set(new HexGameService(new WriteBehindGameRepository(store)));
+        HexGameService baseService = node.get();
+        try {
+            String gameId = baseService.createGame(5, "easy", Map.of()).getGameId();
+
+            assertTrue(baseService.executePlayerMove(gameId, HexPosition.of(1, 0)).isPresent());
+            assertEquals(1, baseService.getEnrichedGameState(gameId).orElseThrow().get("movesCount"));
+
+            interleave.set(true);
+            assertThrows(GameVersionConflictException.class,
+                    () -> baseService.executePlayerMove(gameId, HexPosition.of(2, 0)));
+            HexGameState stored = store.findById(gameId).orElseThrow();
+            assertEquals(2, stored.getMoveCount());
+            assertTrue(stored.getGameBoard().isBlocked(HexPosition.of(0, -2)));
+            assertFalse(stored.getGameBoard().isBlocked(HexPosition.of(2, 0)));
+        } finally {
+            baseService.close();
+        }
+    }
+
+    @Test
+    void testHardGamesMoveTheCatWithAStar() {
+        // Test: la dificultad queda guardada en la partida y decide la estrategia del gato
+        HexPosition cat = HexPosition.of(0, 0);
+        HexPosition target = HexPosition.of(5, 0);
+        HexPosition divergent = null;
+        HexPosition easyChoice = null;
+        HexPosition hardChoice = null;
+        for (HexPosition cell : new HexGameState("probe", 5).getGameBoard().getAdjacentPositions(cat)) {
+            HexGameState probe = new HexGameState("probe", 5);
+            probe.executeMove(cell);
+            HexPosition easy = BFSEscapeStrategy.DISTANCE_FIELD.findBestMove(probe.getGameBoard(), cat, target).orElseThrow();
+            HexPosition hard = AStarEscapeStrategy.SINGLE_SEARCH.findBestMove(probe.getGameBoard(), cat, target).orElseThrow();
+            if (!easy.equals(hard)) {
+                divergent = cell;
+                easyChoice = easy;
+                hardChoice = hard;
+                break;
+            }
+        }
+        assertNotNull(divergent, "ninguna jugada distingue las estrategias");
+
+        String easyGame = service.createGame(5, "easy", Map.of()).getGameId();
+        String hardGame = service.createGame(5, "HARD", Map.of()).getGameId();
+        assertEquals(easyChoice, service.executePlayerMove(easyGame, divergent, "player1").orElseThrow().getCatPosition());
+        HexGameState hard = service.executePlayerMove(hardGame, divergent, "player1").orElseThrow();
+        assertEquals(hardChoice, hard.getCatPosition());
+        assertEquals(HexGameState.DIFFICULTY_HARD, hard.getDifficulty());
+    }
+
+    @Test
+    void testStripedLocksSeparateGames() {
+        // Test: el mismo id siempre usa el mismo candado y las franjas son potencia de 2
+        StripedGameLocks locks = new StripedGameLocks(100);
+        assertEquals(128, locks.getStripeCount());
+        assertSame(locks.lockFor("game-1"), locks.lockFor("game-1"));
+
+        long distinct = IntStream.range(0, 1000)
+                .mapToObj(i -> locks.lockFor("game-" + i))
+                .distinct()
+                .count();
+        assertTrue(distinct > 100);
+    }
+
+    @Test
+    void testRetryOnConflictReloadsUntilSuccess() {
+        // Test: el reintento repite la operación completa y se rinde tras el máximo
+        AtomicInteger calls = new AtomicInteger();
+        String result = HexGameService.retryOnConflict(3, () -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new GameVersionConflictException(List.of("game-1"));
+            }
+            return "ok";
+        });
+        assertEquals("ok", result);
+        assertEquals(3, calls.get());
+
+        calls.set(0);
+        assertThrows(GameVersionConflictException.class, () -> HexGameService.retryOnConflict(2, () -> {
+            calls.incrementAndGet();
+            throw new GameVersionConflictException(List.of("game-1"));
+        }));
+        assertEquals(2, calls.get());
+    }
+}
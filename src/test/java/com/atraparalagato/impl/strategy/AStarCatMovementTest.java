@@ -0,0 +1,125 @@
+package com.atraparalagato.impl.strategy;
+
+import com.atraparalagato.impl.model.BitsetHexGameBoard;
+import com.atraparalagato.impl.model.EscapeDistanceField;
+import com.atraparalagato.impl.model.HexPosition;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.atraparalagato.impl.model.RandomGames.randomBoard;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para AStarCatMovement.
+ * La búsqueda única debe llevar al gato por un camino más corto hacia el borde.
+ */
+class AStarCatMovementTest {
+
+    @Test
+    void testSingleSearchTakesAShortestEscapeStep() {
+        // Test: el paso elegido tiene la menor distancia de escape entre los vecinos
+        Random random = new Random(3);
+
+        for (int game = 0; game < 200; game++) {
+            int size = 3 + random.nextInt(8);
+            BitsetHexGameBoard board = randomBoard(size, random.nextDouble() * 0.6, random);
+            HexPosition cat = HexPosition.of(0, 0);
+            AStarCatMovement strategy = new AStarCatMovement(board);
+
+            Optional<HexPosition> move = strategy.findBestMove(cat, HexPosition.of(size, 0));
+            int best = board.getAdjacentPositions(cat).stream()
+                    .mapToInt(board::getEscapeDistance)
+                    .min()
+                    .orElse(EscapeDistanceField.UNREACHABLE);
+
+            if (best == EscapeDistanceField.UNREACHABLE) {
+                assertTrue(move.isEmpty());
+                assertFalse(strategy.hasPathToGoal(cat));
+            } else {
+                assertTrue(move.isPresent());
+                assertTrue(cat.isAdjacentTo(move.get()));
+                assertEquals(best, board.getEscapeDistance(move.get()));
+                assertTrue(strategy.hasPathToGoal(cat));
+            }
+        }
+    }
+
+    @Test
+    void testFullPathIsShortest() {
+        // Test: getFullPath devuelve un camino contiguo de la longitud mínima
+        Random random = new Random(5);
+
+        for (int game = 0; game < 200; game++) {
+            int size = 3 + random.nextInt(8);
+            BitsetHexGameBoard board = randomBoard(size, random.nextDouble() * 0.4, random);
+            HexPosition cat = HexPosition.of(0, 0);
+            HexPosition target = HexPosition.of(size, 0);
+
+            List<HexPosition> path = new AStarCatMovement(board).getFullPath(cat, target);
+            List<HexPosition> reference = new BFSCatMovement(board).getFullPath(cat, target);
+
+            assertEquals(reference.size(), path.size());
+            for (int i = 1; i < path.size(); i++) {
+                assertTrue(path.get(i - 1).isAdjacentTo(path.get(i)));
+                assertFalse(board.isBlocked(path.get(i)));
+            }
+        }
+    }
+
+    @Test
+    void testSharedStrategiesAreThreadSafe() throws Exception {
+        // Test: los singletons usados desde varios hilos, con tableros de distinto
+        // tamaño alternados, dan lo mismo que un adaptador por tablero
+        Random random = new Random(11);
+        List<BitsetHexGameBoard> boards = new ArrayList<>();
+        List<List<HexPosition>> expected = new ArrayList<>();
+        for (int game = 0; game < 300; game++) {
+            int size = 3 + random.nextInt(8);
+            BitsetHexGameBoard board = randomBoard(size, random.nextDouble() * 0.5, random);
+            boards.add(board);
+            expected.add(movesAndPath(new AStarCatMovement(board).findBestMove(HexPosition.of(0, 0), HexPosition.of(size, 0)),
+                    new BFSCatMovement(board).getFullPath(HexPosition.of(0, 0), HexPosition.of(size - 1, 0))));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int worker = 0; worker < 4; worker++) {
+                results.add(executor.submit(() -> {
+                    for (int round = 0; round < 5; round++) {
+                        for (int i = 0; i < boards.size(); i++) {
+                            BitsetHexGameBoard board = boards.get(i);
+                            int size = board.getSize();
+                            List<HexPosition> actual = movesAndPath(
+                                    AStarEscapeStrategy.SINGLE_SEARCH.findBestMove(board, HexPosition.of(0, 0), HexPosition.of(size, 0)),
+                                    BFSEscapeStrategy.DISTANCE_FIELD.getFullPath(board, HexPosition.of(0, 0), HexPosition.of(size - 1, 0)));
+                            if (!actual.equals(expected.get(i))) {
+                                return false;
+                            }
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private List<HexPosition> movesAndPath(Optional<HexPosition> move, List<HexPosition> path) {
+        List<HexPosition> combined = new ArrayList<>();
+        combined.add(move.orElse(null));
+        combined.addAll(path);
+        return combined;
+    }
+}
@@ -0,0 +1,127 @@
+package com.atraparalagato.impl.strategy;
+
+import com.atraparalagato.base.model.GameBoard;
+import com.atraparalagato.impl.model.BitsetHexGameBoard;
+import com.atraparalagato.impl.model.HexGameBoard;
+import com.atraparalagato.impl.model.HexPosition;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Random;
+
+import static com.atraparalagato.impl.model.RandomGames.randomBoard;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para BFSCatMovement.
+ * El modo campo de distancias debe elegir lo mismo que el BFS por candidato.
+ */
+class BFSCatMovementTest {
+
+    @Test
+    void testDistanceFieldMatchesPerMoveBfs() {
+        // Test: ambos modos eligen el mismo movimiento y responden igual si hay
+        // camino (campo de distancias contra BFS clásico), y coinciden con un BFS de referencia
+        Random random = new Random(7);
+
+        for (int game = 0; game < 200; game++) {
+            int size = 3 + random.nextInt(8);
+            BitsetHexGameBoard board = randomBoard(size, random.nextDouble() * 0.6, random);
+            HexPosition cat = HexPosition.of(0, 0);
+            HexPosition target = HexPosition.of(size, 0);
+
+            BFSCatMovement fast = new BFSCatMovement(board, true);
+            BFSCatMovement classic = new BFSCatMovement(board, false);
+
+            Optional<HexPosition> expected = classic.findBestMove(cat, target);
+            assertEquals(expected, fast.findBestMove(cat, target));
+
+            HexGameBoard plainBoard = new HexGameBoard(size);
+            board.getBlockedPositions().forEach(plainBoard::makeMove);
+            boolean reachesBorder = referenceDistances(plainBoard, cat).keySet().stream()
+                    .anyMatch(plainBoard::isAtBorder);
+            assertEquals(reachesBorder, classic.hasPathToGoal(cat));
+            assertEquals(reachesBorder, fast.hasPathToGoal(cat));
+        }
+    }
+
+    @Test
+    void testTrappedCatHasNoMove() {
+        // Test: un gato rodeado no tiene movimiento ni camino
+        BitsetHexGameBoard board = new BitsetHexGameBoard(5);
+        for (HexPosition pos : board.getAdjacentPositions(HexPosition.of(0, 0))) {
+            board.makeMove(pos);
+        }
+        BFSCatMovement strategy = new BFSCatMovement(board);
+
+        assertTrue(strategy.findBestMove(HexPosition.of(0, 0), HexPosition.of(5, 0)).isEmpty());
+        assertFalse(strategy.hasPathToGoal(HexPosition.of(0, 0)));
+    }
+
+    @Test
+    void testSearchEnginePathsAreShortest() {
+        // Test: BFS bidireccional y búsqueda al borde dan caminos de longitud mínima
+        Random random = new Random(13);
+        HexSearchEngine engine = new HexSearchEngine();
+
+        for (int game = 0; game < 300; game++) {
+            int size = 3 + random.nextInt(8);
+            BitsetHexGameBoard bitsetBoard = randomBoard(size, random.nextDouble() * 0.5, random);
+            HexGameBoard plainBoard = new HexGameBoard(size);
+            bitsetBoard.getBlockedPositions().forEach(plainBoard::makeMove);
+
+            HexPosition start = HexPosition.of(0, 0);
+            HexPosition target = HexPosition.of(random.nextInt(2 * size + 1) - size, 0);
+            if (!target.isWithinBounds(size)) {
+                continue;
+            }
+            Map<HexPosition, Integer> distances = referenceDistances(plainBoard, start);
+
+            for (GameBoard<HexPosition> board : List.of(bitsetBoard, plainBoard)) {
+                List<HexPosition> path = engine.shortestPath(board, start, target);
+                Integer expected = distances.get(target);
+                assertEquals(expected == null ? 0 : expected + 1, path.size());
+                assertValidPath(board, path);
+
+                List<HexPosition> escape = engine.shortestPathToBorder(board, start);
+                int expectedEscape = distances.entrySet().stream()
+                        .filter(e -> plainBoard.isAtBorder(e.getKey()))
+                        .mapToInt(Map.Entry::getValue)
+                        .min()
+                        .orElse(-1);
+                assertEquals(expectedEscape + 1, escape.size());
+                assertValidPath(board, escape);
+                assertEquals(expectedEscape >= 0, engine.canReachBorder(board, start));
+            }
+        }
+    }
+
+    private void assertValidPath(GameBoard<HexPosition> board, List<HexPosition> path) {
+        for (int i = 1; i < path.size(); i++) {
+            assertTrue(path.get(i - 1).isAdjacentTo(path.get(i)));
+            assertFalse(board.isBlocked(path.get(i)));
+        }
+    }
+
+    private Map<HexPosition, Integer> referenceDistances(HexGameBoard board, HexPosition start) {
+        Map<HexPosition, Integer> distances = new HashMap<>();
+        Queue<HexPosition> queue = new ArrayDeque<>();
+        distances.put(start, 0);
+        queue.add(start);
+        while (!queue.isEmpty()) {
+            HexPosition current = queue.poll();
+            for (HexPosition neighbor : board.getAdjacentPositions(current)) {
+                if (!distances.containsKey(neighbor)) {
+                    distances.put(neighbor, distances.get(current) + 1);
+                    queue.add(neighbor);
+                }
+            }
+        }
+        return distances;
+    }
+}